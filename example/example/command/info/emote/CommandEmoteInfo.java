@@ -1,7 +1,11 @@
 package example.command.info.emote;
 
+import java.util.concurrent.TimeUnit;
+
 import com.jockie.bot.core.argument.Argument;
 import com.jockie.bot.core.command.impl.CommandImpl;
+import com.jockie.bot.core.command.impl.ResultCache;
+import com.jockie.bot.core.cooldown.ICooldown.Scope;
 
 import example.Main;
 import net.dv8tion.jda.core.EmbedBuilder;
@@ -13,6 +17,8 @@ public class CommandEmoteInfo extends CommandImpl {
 
 	public CommandEmoteInfo() {
 		super("emote info");
+		
+		super.setResultCache(new ResultCache(30, TimeUnit.SECONDS, Scope.GLOBAL, ResultCache.DEFAULT_MAXIMUM_SIZE));
 	}
 	
 	public MessageEmbed onCommand(MessageReceivedEvent event, @Argument(name="emote") Emote emote) {
@@ -1,7 +1,11 @@
 package example.command.info.role;
 
+import java.util.concurrent.TimeUnit;
+
 import com.jockie.bot.core.argument.Argument;
 import com.jockie.bot.core.command.impl.CommandImpl;
+import com.jockie.bot.core.command.impl.ResultCache;
+import com.jockie.bot.core.cooldown.ICooldown.Scope;
 
 import example.Main;
 import net.dv8tion.jda.core.EmbedBuilder;
@@ -16,6 +20,7 @@ public class CommandRoleInfo extends CommandImpl {
 		
 		super.setAliases("roleinfo", "rolei", "ri");
 		super.setDescription("Get information about a role");
+		super.setResultCache(new ResultCache(30, TimeUnit.SECONDS, Scope.GLOBAL, ResultCache.DEFAULT_MAXIMUM_SIZE));
 	}
 	
 	public MessageEmbed onCommand(MessageReceivedEvent event, @Argument(name="Role") Role role) {
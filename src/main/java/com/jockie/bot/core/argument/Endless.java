@@ -12,6 +12,8 @@ public @interface Endless {
 	public int minArguments() default 1;
 	public int maxArguments() default 0;
 	
+	public int tokenLimit() default IEndlessArgument.DEFAULT_TOKEN_LIMIT;
+	
 	public boolean endless() default true;
 	
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.jockie.bot.core.argument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import com.jockie.bot.core.utility.ArgumentUtility;
+
+import net.dv8tion.jda.core.entities.ISnowflake;
+
+/**
+ * A set of entities given by id or mention, for instance for commands which ban or kick several users at once.
+ * </br></br>
+ * The ids are sorted and distinct and are all resolved in one go, ids which could not be resolved are kept
+ * since some actions (such as banning) only need the id, see {@link #getIds()}, {@link #getUnresolvedIds()} and {@link #getChunks(int)}
+ */
+public class EntityBatch<Type extends ISnowflake> implements Iterable<Type> {
+	
+	private static final long[] EMPTY = new long[0];
+	
+	/**
+	 * Parses ids and mentions (&lt;@id&gt;, &lt;@!id&gt;, &lt;@&amp;id&gt; and &lt;#id&gt;) separated by spaces, new lines or commas
+	 * 
+	 * @param limit the most amount of ids which are allowed, 0 for no limit
+	 * 
+	 * @return the ids sorted and without duplicates or null if any of the values are not ids or mentions or if there are more than the limit
+	 */
+	public static long[] parseIds(String value, int limit) {
+		long[] ids = new long[Math.min(16, Math.max(1, value.length() / 18))];
+		int count = 0;
+		
+		int index = 0, length = value.length();
+		while(index < length) {
+			char character = value.charAt(index);
+			if(character == ' ' || character == ',' || character == '\n') {
+				index++;
+				
+				continue;
+			}
+			
+			int end = index + 1;
+			while(end < length && (character = value.charAt(end)) != ' ' && character != ',' && character != '\n') {
+				end++;
+			}
+			
+			long id = EntityBatch.parseId(value, index, end);
+			if(id == -1L || (limit > 0 && count == limit)) {
+				return null;
+			}
+			
+			if(count == ids.length) {
+				ids = Arrays.copyOf(ids, ids.length * 2);
+			}
+			
+			ids[count++] = id;
+			
+			index = end;
+		}
+		
+		if(count == 0) {
+			return EntityBatch.EMPTY;
+		}
+		
+		Arrays.sort(ids, 0, count);
+		
+		int distinct = 1;
+		for(int i = 1; i < count; i++) {
+			if(ids[i] != ids[distinct - 1]) {
+				ids[distinct++] = ids[i];
+			}
+		}
+		
+		return Arrays.copyOf(ids, distinct);
+	}
+	
+	private static long parseId(String value, int start, int end) {
+		if(end - start > 3 && value.charAt(start) == '<' && value.charAt(end - 1) == '>') {
+			char type = value.charAt(start + 1);
+			if(type == '@') {
+				start += 2;
+				
+				if(value.charAt(start) == '!' || value.charAt(start) == '&') {
+					start++;
+				}
+			}else if(type == '#') {
+				start += 2;
+			}else{
+				return -1L;
+			}
+			
+			end--;
+		}
+		
+		return ArgumentUtility.parseSnowflake(value, start, end);
+	}
+	
+	private final long[] ids;
+	
+	private final long[] resolvedIds;
+	private final long[] unresolvedIds;
+	
+	private final List<Type> entities;
+	
+	/**
+	 * @param ids the ids sorted and without duplicates, see {@link #parseIds(String, int)}
+	 * @param resolver the function used to get the entity of an id, this should return null if the entity can not be found
+	 */
+	protected EntityBatch(long[] ids, LongFunction<Type> resolver) {
+		this.ids = ids;
+		
+		long[] resolvedIds = new long[ids.length], unresolvedIds = new long[ids.length];
+		int resolved = 0, unresolved = 0;
+		
+		List<Type> entities = new ArrayList<>(ids.length);
+		for(long id : ids) {
+			Type entity = resolver.apply(id);
+			if(entity != null) {
+				entities.add(entity);
+				
+				resolvedIds[resolved++] = id;
+			}else{
+				unresolvedIds[unresolved++] = id;
+			}
+		}
+		
+		this.resolvedIds = (resolved == ids.length) ? ids : Arrays.copyOf(resolvedIds, resolved);
+		this.unresolvedIds = (unresolved == 0) ? EntityBatch.EMPTY : Arrays.copyOf(unresolvedIds, unresolved);
+		
+		this.entities = Collections.unmodifiableList(entities);
+	}
+	
+	/**
+	 * @return all the ids, resolved or not, sorted and without duplicates, this array should not be modified
+	 */
+	public long[] getIds() {
+		return this.ids;
+	}
+	
+	/**
+	 * @return the ids which could be resolved, sorted, this array should not be modified
+	 */
+	public long[] getResolvedIds() {
+		return this.resolvedIds;
+	}
+	
+	/**
+	 * @return the ids which could not be resolved, sorted, this array should not be modified
+	 */
+	public long[] getUnresolvedIds() {
+		return this.unresolvedIds;
+	}
+	
+	/**
+	 * @return the entities which could be resolved, in the order of their ids
+	 */
+	public List<Type> getEntities() {
+		return this.entities;
+	}
+	
+	/**
+	 * @return whether or not the id is a part of this batch, resolved or not
+	 */
+	public boolean contains(long id) {
+		return Arrays.binarySearch(this.ids, id) >= 0;
+	}
+	
+	/**
+	 * @return the amount of ids, resolved or not
+	 */
+	public int size() {
+		return this.ids.length;
+	}
+	
+	public boolean isEmpty() {
+		return this.ids.length == 0;
+	}
+	
+	/**
+	 * @param size the most amount of ids in each chunk, for instance the most amount of ids a single request can take
+	 * 
+	 * @return all the ids, resolved or not, split in to chunks
+	 */
+	public List<long[]> getChunks(int size) {
+		return EntityBatch.getChunks(this.ids, size);
+	}
+	
+	/**
+	 * @param size the most amount of ids in each chunk, for instance the most amount of ids a single request can take
+	 * 
+	 * @return the ids split in to chunks
+	 */
+	public static List<long[]> getChunks(long[] ids, int size) {
+		if(size <= 0) {
+			throw new IllegalArgumentException("The size of a chunk has to be greater than 0");
+		}
+		
+		List<long[]> chunks = new ArrayList<>((ids.length + size - 1) / size);
+		for(int i = 0; i < ids.length; i += size) {
+			chunks.add(Arrays.copyOfRange(ids, i, Math.min(ids.length, i + size)));
+		}
+		
+		return chunks;
+	}
+	
+	public Iterator<Type> iterator() {
+		return this.entities.iterator();
+	}
+	
+	public String toString() {
+		return this.getClass().getSimpleName() + "[ids=" + this.ids.length + ", unresolved=" + this.unresolvedIds.length + "]";
+	}
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.jockie.bot.core.argument;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Additional names an enum constant can be given as when used as an argument, these are case insensitive just like the name of the constant
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EnumAlias {
+	
+	public String[] value();
+
+}
\ No newline at end of file
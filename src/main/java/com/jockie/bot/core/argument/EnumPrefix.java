@@ -0,0 +1,21 @@
+package com.jockie.bot.core.argument;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Allows the constants of an enum to be given as any unique prefix of their name (or alias) when used as an argument, 
+ * for instance "eu_w" for EU_WEST as long as no other constant starts with it
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EnumPrefix {
+	
+	/**
+	 * @return the minimum length of a prefix for it to be matched
+	 */
+	public int minLength() default 1;
+
+}
\ No newline at end of file
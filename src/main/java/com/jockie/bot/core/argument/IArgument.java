@@ -1,5 +1,7 @@
 package com.jockie.bot.core.argument;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import com.jockie.bot.core.command.impl.CommandEvent;
@@ -22,6 +24,33 @@ public interface IArgument<Type> {
 	
 	public VerifiedArgument<Type> verify(MessageReceivedEvent event, String value);
 	
+	/**
+	 * @param result a re-usable result which the argument may use to return its result instead of creating a new one
+	 * 
+	 * @return the verified argument, this may be the provided result and is only valid until that is used again
+	 */
+	public default VerifiedArgument<Type> verify(MessageReceivedEvent event, String value, MutableVerifiedArgument<Type> result) {
+		return this.verify(event, value);
+	}
+	
+	/**
+	 * Verify the value as part of a larger parse, see {@link ParseContext}
+	 * 
+	 * @return the verified argument, this may be the result of the context and is only valid until that is used again
+	 */
+	public default VerifiedArgument<Type> verify(ParseContext context, String value) {
+		return this.verify(context.getEvent(), value, context.getResult());
+	}
+	
+	/**
+	 * Verify the value without blocking, by default this completes straight away with the result of {@link #verify(ParseContext, String)}
+	 * 
+	 * @return the verification, this never completes with a {@link MutableVerifiedArgument}
+	 */
+	public default CompletionStage<VerifiedArgument<Type>> verifyAsync(ParseContext context, String value) {
+		return CompletableFuture.completedFuture(this.verify(context, value).toImmutable());
+	}
+	
 	public abstract class Builder<RT, A extends IArgument<RT>, BT extends Builder<RT, A, BT>> {
 		
 		/* I see no reason not to allow quoted by default */
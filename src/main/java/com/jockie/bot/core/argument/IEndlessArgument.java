@@ -2,14 +2,27 @@ package com.jockie.bot.core.argument;
 
 public interface IEndlessArgument<Type> extends IArgument<Type[]> {
 	
+	/** The default {@link #getTokenLimit()}, this is far more than a single message can contain but still keeps a single argument from taking too long to parse */
+	public static final int DEFAULT_TOKEN_LIMIT = 4096;
+	
 	public int getMinArguments();
 	
 	public int getMaxArguments();
 	
+	/**
+	 * @return the most amount of values this argument will go through before it is considered to be invalid, 
+	 * this applies even if {@link #getMaxArguments()} is 0 (unlimited), 0 if there is no limit
+	 */
+	public default int getTokenLimit() {
+		return 0;
+	}
+	
 	public abstract class Builder<RT, A extends IEndlessArgument<RT>, BT extends Builder<RT, A, BT>> extends IArgument.Builder<RT[], A, BT> {
 		
 		private int minArguments = 1, maxArguments = 0;
 		
+		private int tokenLimit = IEndlessArgument.DEFAULT_TOKEN_LIMIT;
+		
 		public Builder() {
 			this.quote = false;
 			
@@ -34,6 +47,15 @@ public interface IEndlessArgument<Type> extends IArgument<Type[]> {
 			return this.self();
 		}
 		
+		/**
+		 * @param tokenLimit the most amount of values the argument will go through before it is considered to be invalid, 0 for no limit
+		 */
+		public BT setTokenLimit(int tokenLimit) {
+			this.tokenLimit = tokenLimit;
+			
+			return this.self();
+		}
+		
 		public int getMinArguments() {
 			return this.minArguments;
 		}
@@ -41,5 +63,9 @@ public interface IEndlessArgument<Type> extends IArgument<Type[]> {
 		public int getMaxArguments() {
 			return this.maxArguments;
 		}
+		
+		public int getTokenLimit() {
+			return this.tokenLimit;
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.jockie.bot.core.argument;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+
+/**
+ * A batch of members of a guild given by id or mention, ids of users who are not in the guild are kept as unresolved ids
+ * 
+ * @see EntityBatch
+ */
+public class MemberBatch extends EntityBatch<Member> {
+	
+	private final Guild guild;
+	
+	public MemberBatch(Guild guild, long[] ids) {
+		super(ids, guild::getMemberById);
+		
+		this.guild = guild;
+	}
+	
+	public Guild getGuild() {
+		return this.guild;
+	}
+}
\ No newline at end of file
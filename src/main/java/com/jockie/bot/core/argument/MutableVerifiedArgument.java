@@ -0,0 +1,47 @@
+package com.jockie.bot.core.argument;
+
+/**
+ * A re-usable {@link VerifiedArgument}, the same instance is used for every argument of a parse 
+ * so that parsing does not have to create a new result for every attempt.
+ * </br></br>
+ * The content is only valid until the instance is used again therefore it should never be stored, 
+ * copy the object out of it instead.
+ */
+public class MutableVerifiedArgument<Type> extends VerifiedArgument<Type> {
+	
+	/* Kept apart from the final fields of VerifiedArgument so that shared results such as VerifiedArgument.INVALID can never be changed */
+	private VerifiedType type = VerifiedType.INVALID;
+	
+	private Type object;
+	
+	public MutableVerifiedArgument() {
+		super(VerifiedType.INVALID, null);
+	}
+	
+	public VerifiedType getVerifiedType() {
+		return this.type;
+	}
+	
+	public Type getObject() {
+		return this.object;
+	}
+	
+	public MutableVerifiedArgument<Type> set(VerifiedType type, Type object) {
+		this.type = type;
+		this.object = object;
+		
+		return this;
+	}
+	
+	public MutableVerifiedArgument<Type> clear() {
+		return this.set(VerifiedType.INVALID, null);
+	}
+	
+	public VerifiedArgument<Type> toImmutable() {
+		if(this.type.equals(VerifiedType.INVALID)) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return new VerifiedArgument<>(this.type, this.object);
+	}
+}
\ No newline at end of file
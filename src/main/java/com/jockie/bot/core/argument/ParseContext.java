@@ -0,0 +1,105 @@
+package com.jockie.bot.core.argument;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * The state of parsing a single message, this is shared between all the arguments of all the commands which are tried for the message.
+ * </br></br>
+ * It holds the re-usable result (see {@link MutableVerifiedArgument}) and the already resolved content so that, for instance, 
+ * the same member is only looked up once even if several commands try to parse it. 
+ * The result is only used by the thread parsing the message, the resolved content can also be used by the threads completing asynchronous parses. 
+ * A context should not be kept after the message has been handled
+ */
+public class ParseContext {
+	
+	private final MessageReceivedEvent event;
+	
+	private final MutableVerifiedArgument<?> result;
+	
+	/* Created the first time something is resolved since most messages never get that far */
+	private Map<Class<?>, Map<String, VerifiedArgument<?>>> resolved;
+	
+	/* Asynchronous parses which have been started but might not have completed yet */
+	private Map<Class<?>, Map<String, CompletionStage<? extends VerifiedArgument<?>>>> pending;
+	
+	public ParseContext(MessageReceivedEvent event) {
+		this(event, new MutableVerifiedArgument<>());
+	}
+	
+	public ParseContext(MessageReceivedEvent event, MutableVerifiedArgument<?> result) {
+		this.event = event;
+		this.result = result;
+	}
+	
+	public MessageReceivedEvent getEvent() {
+		return this.event;
+	}
+	
+	/**
+	 * @return the re-usable result of this context, the content is only valid until the next argument is parsed
+	 */
+	@SuppressWarnings("unchecked")
+	public <Type> MutableVerifiedArgument<Type> getResult() {
+		return (MutableVerifiedArgument<Type>) this.result;
+	}
+	
+	/**
+	 * @return the result of a previous parse of the content as the type or null if it has not been parsed yet
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <Type> VerifiedArgument<Type> getResolved(Class<Type> type, String content) {
+		if(this.resolved == null) {
+			return null;
+		}
+		
+		Map<String, VerifiedArgument<?>> resolved = this.resolved.get(type);
+		if(resolved == null) {
+			return null;
+		}
+		
+		return (VerifiedArgument<Type>) resolved.get(content);
+	}
+	
+	/**
+	 * @param verified the result of parsing the content as the type, this should not be a {@link MutableVerifiedArgument} since it is kept for the rest of the parse
+	 */
+	public synchronized <Type> void setResolved(Class<Type> type, String content, VerifiedArgument<Type> verified) {
+		if(this.resolved == null) {
+			this.resolved = new HashMap<>();
+		}
+		
+		this.resolved.computeIfAbsent(type, (key) -> new HashMap<>()).put(content, verified);
+	}
+	
+	/**
+	 * @return the asynchronous parse of the content as the type or null if it has not been started
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <Type> CompletionStage<VerifiedArgument<Type>> getPending(Class<Type> type, String content) {
+		if(this.pending == null) {
+			return null;
+		}
+		
+		Map<String, CompletionStage<? extends VerifiedArgument<?>>> pending = this.pending.get(type);
+		if(pending == null) {
+			return null;
+		}
+		
+		return (CompletionStage<VerifiedArgument<Type>>) pending.get(content);
+	}
+	
+	/**
+	 * @param stage the asynchronous parse of the content as the type, this should complete with a result which is not a {@link MutableVerifiedArgument}
+	 */
+	public synchronized <Type> void setPending(Class<Type> type, String content, CompletionStage<VerifiedArgument<Type>> stage) {
+		if(this.pending == null) {
+			this.pending = new HashMap<>();
+		}
+		
+		this.pending.computeIfAbsent(type, (key) -> new HashMap<>()).put(content, stage);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.jockie.bot.core.argument;
+
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.User;
+
+/**
+ * A batch of users given by id or mention, ids of users who are not cached are kept as unresolved ids
+ * 
+ * @see EntityBatch
+ */
+public class UserBatch extends EntityBatch<User> {
+	
+	public UserBatch(JDA jda, long[] ids) {
+		super(ids, jda::getUserById);
+	}
+}
\ No newline at end of file
@@ -8,9 +8,20 @@ public class VerifiedArgument<Type> {
 		VALID_END_NOW;
 	}
 	
-	private VerifiedType type;
+	/** A shared invalid result, use {@link #invalid()} to get it as the correct type */
+	public static final VerifiedArgument<?> INVALID = new VerifiedArgument<>(VerifiedType.INVALID, null);
+	
+	/**
+	 * @return the shared invalid result, since an invalid result does not carry an object there is no need to create a new one for each failed parse
+	 */
+	@SuppressWarnings("unchecked")
+	public static <Type> VerifiedArgument<Type> invalid() {
+		return (VerifiedArgument<Type>) VerifiedArgument.INVALID;
+	}
+	
+	private final VerifiedType type;
 	
-	private Type object;
+	private final Type object;
 	
 	public VerifiedArgument() {
 		this(VerifiedType.INVALID, null);
@@ -32,4 +43,11 @@ public class VerifiedArgument<Type> {
 	public Type getObject() {
 		return this.object;
 	}
+	
+	/**
+	 * @return a result with the same content which will not change, this is the result itself unless it is a {@link MutableVerifiedArgument}
+	 */
+	public VerifiedArgument<Type> toImmutable() {
+		return this;
+	}
 }
\ No newline at end of file
@@ -1,12 +1,25 @@
 package com.jockie.bot.core.argument.impl;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+import com.jockie.bot.core.argument.EntityBatch;
 import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.IEndlessArgument;
+import com.jockie.bot.core.argument.MemberBatch;
+import com.jockie.bot.core.argument.UserBatch;
 import com.jockie.bot.core.argument.VerifiedArgument;
 import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+import com.jockie.bot.core.argument.impl.parser.CachedArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.DoubleArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.EnumArgumentParser;
 import com.jockie.bot.core.argument.impl.parser.IArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.IReusableArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.IntArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.LongArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.UserArgumentParser;
 import com.jockie.bot.core.utility.ArgumentUtility;
 
 import net.dv8tion.jda.core.entities.Category;
@@ -22,95 +35,149 @@ public class ArgumentFactory {
 	
 	private static Map<Class<?>, IArgumentParser<?>> arguments = new HashMap<>();
 	
-	public static <T> void registerArgument(Class<T> clazz, IArgumentParser<T> function) {
+	/* Types which are resolved at most once per content and message */
+	private static Set<Class<?>> cached = new HashSet<>();
+	
+	/**
+	 * @param cached whether or not the result only depends on the content (and the event) and not the argument, 
+	 * if so the content will only be parsed once per message even if several commands try to parse it
+	 */
+	public static <T> void registerArgument(Class<T> clazz, IArgumentParser<T> function, boolean cached) {
 		ArgumentFactory.arguments.put(clazz, function);
+		
+		if(cached) {
+			ArgumentFactory.cached.add(clazz);
+		}else{
+			ArgumentFactory.cached.remove(clazz);
+		}
+	}
+	
+	public static <T> void registerArgument(Class<T> clazz, IArgumentParser<T> function) {
+		ArgumentFactory.registerArgument(clazz, function, false);
+	}
+	
+	public static <T> void registerArgument(Class<T> clazz, IReusableArgumentParser<T> function, boolean cached) {
+		ArgumentFactory.registerArgument(clazz, (IArgumentParser<T>) function, cached);
+	}
+	
+	public static <T> void registerArgument(Class<T> clazz, IReusableArgumentParser<T> function) {
+		ArgumentFactory.registerArgument(clazz, (IArgumentParser<T>) function, false);
 	}
 	
 	public static void unregisterArgument(Class<?> clazz) {
 		ArgumentFactory.arguments.remove(clazz);
+		ArgumentFactory.cached.remove(clazz);
+	}
+	
+	private static boolean fuzzyEntities = false;
+	
+	/**
+	 * @param fuzzyEntities whether or not the default Member, TextChannel, Role and Emote arguments should accept partial and misspelled names, 
+	 * see {@link ArgumentUtility#getMemberByIdOrNameFuzzy(net.dv8tion.jda.core.entities.Guild, String)}
+	 */
+	public static void setFuzzyEntities(boolean fuzzyEntities) {
+		ArgumentFactory.fuzzyEntities = fuzzyEntities;
+	}
+	
+	public static boolean isFuzzyEntities() {
+		return ArgumentFactory.fuzzyEntities;
 	}
 	
 	static {
-		ArgumentFactory.registerArgument(Member.class, (event, argument, value) -> {
-			Member member = ArgumentUtility.getMemberByIdOrName(event.getGuild(), value, true);
+		ArgumentFactory.registerArgument(Member.class, (event, argument, value, result) -> {
+			Member member = ArgumentFactory.fuzzyEntities ? ArgumentUtility.getMemberByIdOrNameFuzzy(event.getGuild(), value) : ArgumentUtility.getMemberByIdOrName(event.getGuild(), value, true);
 			
 			if(member != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, member);
+				return result.set(VerifiedType.VALID, member);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
-		ArgumentFactory.registerArgument(TextChannel.class, (event, argument, value) -> {
-			TextChannel channel = ArgumentUtility.getTextChannelByIdOrName(event.getGuild(), value, true);
+		ArgumentFactory.registerArgument(TextChannel.class, (event, argument, value, result) -> {
+			TextChannel channel = ArgumentFactory.fuzzyEntities ? ArgumentUtility.getTextChannelByIdOrNameFuzzy(event.getGuild(), value) : ArgumentUtility.getTextChannelByIdOrName(event.getGuild(), value, true);
 			
 			if(channel != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, channel);
+				return result.set(VerifiedType.VALID, channel);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
-		ArgumentFactory.registerArgument(VoiceChannel.class, (event, argument, value) -> {
+		ArgumentFactory.registerArgument(VoiceChannel.class, (event, argument, value, result) -> {
 			VoiceChannel channel = ArgumentUtility.getVoiceChannelByIdOrName(event.getGuild(), value, true);
 			
 			if(channel != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, channel);
+				return result.set(VerifiedType.VALID, channel);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
 		/* Even though Category technically does implement Channel I do not want it to be a part of the Channel argument */
-		ArgumentFactory.registerArgument(Channel.class, (event, argument, value) -> {
+		ArgumentFactory.registerArgument(Channel.class, (event, argument, value, result) -> {
 			Channel channel = ArgumentUtility.getTextChannelByIdOrName(event.getGuild(), value, true);
 			
 			if(channel != null || (channel = ArgumentUtility.getVoiceChannelByIdOrName(event.getGuild(), value, true)) != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, channel);
+				return result.set(VerifiedType.VALID, channel);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
-		ArgumentFactory.registerArgument(Category.class, (event, argument, value) -> {
+		ArgumentFactory.registerArgument(Category.class, (event, argument, value, result) -> {
 			Category category = ArgumentUtility.getCategoryByIdOrName(event.getGuild(), value, true);
 			
 			if(category != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, category);
+				return result.set(VerifiedType.VALID, category);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
-		ArgumentFactory.registerArgument(Role.class, (event, argument, value) -> {
-			Role role = ArgumentUtility.getRoleByIdOrName(event.getGuild(), value, true);
+		ArgumentFactory.registerArgument(Role.class, (event, argument, value, result) -> {
+			Role role = ArgumentFactory.fuzzyEntities ? ArgumentUtility.getRoleByIdOrNameFuzzy(event.getGuild(), value) : ArgumentUtility.getRoleByIdOrName(event.getGuild(), value, true);
 			
 			if(role != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, role);
+				return result.set(VerifiedType.VALID, role);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
 		
-		ArgumentFactory.registerArgument(Emote.class, (event, argument, value) -> {
-			Emote emote = ArgumentUtility.getEmoteByIdOrName(event.getGuild(), value, true);
+		ArgumentFactory.registerArgument(Emote.class, (event, argument, value, result) -> {
+			Emote emote = ArgumentFactory.fuzzyEntities ? ArgumentUtility.getEmoteByIdOrNameFuzzy(event.getGuild(), value) : ArgumentUtility.getEmoteByIdOrName(event.getGuild(), value, true);
 			
 			if(emote != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, emote);
+				return result.set(VerifiedType.VALID, emote);
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
+		
+		ArgumentFactory.registerArgument(User.class, UserArgumentParser.INSTANCE, true);
 		
-		ArgumentFactory.registerArgument(User.class, (event, argument, value) -> {
-			User user = ArgumentUtility.getUser(event.getJDA(), value);
+		ArgumentFactory.registerArgument(MemberBatch.class, (event, argument, value, result) -> {
+			if(!event.getChannelType().isGuild()) {
+				return VerifiedArgument.invalid();
+			}
 			
-			if(user != null) {
-				return new VerifiedArgument<>(VerifiedType.VALID, user);
+			long[] ids = EntityBatch.parseIds(value, IEndlessArgument.DEFAULT_TOKEN_LIMIT);
+			if(ids != null && ids.length > 0) {
+				return result.set(VerifiedType.VALID, new MemberBatch(event.getGuild(), ids));
 			}else{
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			}
-		});
+		}, true);
+		
+		ArgumentFactory.registerArgument(UserBatch.class, (event, argument, value, result) -> {
+			long[] ids = EntityBatch.parseIds(value, IEndlessArgument.DEFAULT_TOKEN_LIMIT);
+			if(ids != null && ids.length > 0) {
+				return result.set(VerifiedType.VALID, new UserBatch(event.getJDA(), ids));
+			}else{
+				return VerifiedArgument.invalid();
+			}
+		}, true);
 	}
 	
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -118,93 +185,56 @@ public class ArgumentFactory {
 		IArgument.Builder<ReturnType, ?, ?> builder = null;
 		
 		if(type.isAssignableFrom(Byte.class) || type.isAssignableFrom(byte.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Byte.parseByte(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
-				}
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) (IReusableArgumentParser) IntArgumentParser.BYTE.toByteParser());
 		}else if(type.isAssignableFrom(Short.class) || type.isAssignableFrom(short.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Short.parseShort(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
-				}
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) (IReusableArgumentParser) IntArgumentParser.SHORT.toShortParser());
 		}else if(type.isAssignableFrom(Integer.class) || type.isAssignableFrom(int.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Integer.parseInt(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
-				}
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) (IReusableArgumentParser) IntArgumentParser.INSTANCE);
 		}else if(type.isAssignableFrom(Long.class) || type.isAssignableFrom(long.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Long.parseLong(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
-				}
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) (IReusableArgumentParser) LongArgumentParser.INSTANCE);
 		}else if(type.isAssignableFrom(Float.class) || type.isAssignableFrom(float.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Float.parseFloat(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value, result) -> {
+				if(DoubleArgumentParser.isValid(value, 0, value.length())) {
+					return result.set(VerifiedType.VALID, (ReturnType) (Object) Float.parseFloat(value));
 				}
+				
+				return VerifiedArgument.invalid();
 			});
 		}else if(type.isAssignableFrom(Double.class) || type.isAssignableFrom(double.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				try {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Double.parseDouble(value));
-				}catch(NumberFormatException e) {
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
-				}
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) (IReusableArgumentParser) DoubleArgumentParser.INSTANCE);
 		}else if(type.isAssignableFrom(Boolean.class) || type.isAssignableFrom(boolean.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value, result) -> {
 				if(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) Boolean.parseBoolean(value));
+					return result.set(VerifiedType.VALID, (ReturnType) (Object) Boolean.parseBoolean(value));
 				}
 				
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+				return VerifiedArgument.invalid();
 			});
 		}else if(type.isAssignableFrom(Character.class) || type.isAssignableFrom(char.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value, result) -> {
 				if(value.length() == 1) {
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) (Object) value.charAt(0));
+					return result.set(VerifiedType.VALID, (ReturnType) (Object) value.charAt(0));
 				}else{
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
+					return VerifiedArgument.invalid();
 				}
 			});
 		}else if(type.isAssignableFrom(String.class)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value, result) -> {
 				if(argument.isEndless()) {
-					return new VerifiedArgument<>(VerifiedType.VALID_END_NOW, (ReturnType) value);
+					return result.set(VerifiedType.VALID_END_NOW, (ReturnType) value);
 				}else{
-					return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) value);
+					return result.set(VerifiedType.VALID, (ReturnType) value);
 				}
 			});
 		}else if(type.isEnum()) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				Enum<?>[] enums = (Enum[]) type.getEnumConstants();
-				
-				for(Enum<?> enumEntry : enums) {
-					if(enumEntry.name().equalsIgnoreCase(value)) {
-						return new VerifiedArgument<>(VerifiedType.VALID, (ReturnType) enumEntry);
-					}
-				}
-				
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
-			});
+			builder = new SimpleArgument.Builder<ReturnType>().setParser((IReusableArgumentParser<ReturnType>) EnumArgumentParser.of((Class<Enum>) type));
 		}else if(ArgumentFactory.arguments.containsKey(type)) {
-			builder = new SimpleArgument.Builder<ReturnType>().setParser((event, argument, value) -> {
-				return (VerifiedArgument<ReturnType>) ArgumentFactory.arguments.get(type).parse(event, (IArgument) argument, value);
-			});
+			IArgumentParser<ReturnType> parser = (IArgumentParser<ReturnType>) ArgumentFactory.arguments.get(type);
+			if(ArgumentFactory.cached.contains(type)) {
+				parser = new CachedArgumentParser<>(type, parser);
+			}
+			
+			builder = new SimpleArgument.Builder<ReturnType>().setParser(parser);
 		}
 		
 		return builder;
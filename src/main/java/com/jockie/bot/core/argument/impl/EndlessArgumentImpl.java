@@ -1,14 +1,28 @@
 package com.jockie.bot.core.argument.impl;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 
 import com.jockie.bot.core.argument.IArgument;
 import com.jockie.bot.core.argument.IEndlessArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.ParseContext;
 import com.jockie.bot.core.argument.VerifiedArgument;
 import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+import com.jockie.bot.core.argument.impl.parser.CachedArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.DoubleArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.IArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.IntArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.LongArgumentParser;
 
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
 
+/**
+ * An argument made up of several values of another argument, separated by spaces.
+ * </br></br>
+ * The primitive types int, long and double are supported as well, in which case the result is an int[], long[] or double[] 
+ * and not an array of the boxed type, this means that the generic type can not be relied upon for those
+ */
 public class EndlessArgumentImpl<Type> extends ArgumentImpl<Type[]> implements IEndlessArgument<Type> {
 	
 	private final IArgument<Type> argument;
@@ -17,6 +31,8 @@ public class EndlessArgumentImpl<Type> extends ArgumentImpl<Type[]> implements I
 	
 	private final Class<Type> clazz;
 	
+	private final int tokenLimit;
+	
 	public static class Builder<Type> extends IEndlessArgument.Builder<Type, IEndlessArgument<Type>, Builder<Type>> {
 		
 		private IArgument<Type> argument;
@@ -24,8 +40,8 @@ public class EndlessArgumentImpl<Type> extends ArgumentImpl<Type[]> implements I
 		private Class<Type> clazz;
 		
 		public Builder(Class<Type> clazz) {			
-			if(clazz.isPrimitive()) {
-				throw new IllegalArgumentException("Primitve types are currently not supported for endless arguments");
+			if(clazz.isPrimitive() && clazz != int.class && clazz != long.class && clazz != double.class) {
+				throw new IllegalArgumentException("The only primitive types supported for endless arguments are int, long and double");
 			}
 			
 			this.clazz = clazz;
@@ -66,6 +82,7 @@ public class EndlessArgumentImpl<Type> extends ArgumentImpl<Type[]> implements I
 		this.argument = builder.getArgument();
 		this.minArguments = builder.getMinArguments();
 		this.maxArguments = builder.getMaxArguments();
+		this.tokenLimit = builder.getTokenLimit();
 	}
 	
 	public IArgument<Type> getArgument() {
@@ -80,99 +97,334 @@ public class EndlessArgumentImpl<Type> extends ArgumentImpl<Type[]> implements I
 		return this.maxArguments;
 	}
 	
-	@SuppressWarnings("unchecked")
+	public int getTokenLimit() {
+		return this.tokenLimit;
+	}
+	
 	public VerifiedArgument<Type[]> verify(MessageReceivedEvent event, String value) {
-		int args = 0;
+		return this.verify(new ParseContext(event), value);
+	}
+	
+	public VerifiedArgument<Type[]> verify(MessageReceivedEvent event, String value, MutableVerifiedArgument<Type[]> result) {
+		return this.verify(new ParseContext(event, result), value);
+	}
+	
+	/* The values are parsed in to a buffer which grows as needed and is then copied in to an array of the exact size */
+	private abstract static class Buffer {
+		
+		protected int size;
+		
+		/**
+		 * @param content the content of the value or null if it has not been created, in which case it is between start and end in the value
+		 */
+		protected abstract VerifiedType add(ParseContext context, String value, int start, int end, String content);
+		
+		protected abstract Object toArray();
+		
+		protected int grow(int length) {
+			return (length == 0) ? 16 : length * 2;
+		}
+	}
+	
+	private static class ObjectBuffer<Type> extends Buffer {
+		
+		private final IArgument<Type> argument;
+		
+		private final Class<Type> clazz;
+		
+		private Object[] values = new Object[0];
+		
+		private ObjectBuffer(IArgument<Type> argument, Class<Type> clazz) {
+			this.argument = argument;
+			this.clazz = clazz;
+		}
+		
+		protected VerifiedType add(ParseContext context, String value, int start, int end, String content) {
+			VerifiedArgument<Type> verified = this.argument.verify(context, (content != null) ? content : value.substring(start, end));
+			if(verified.getVerifiedType() != VerifiedType.INVALID) {
+				if(this.size == this.values.length) {
+					this.values = Arrays.copyOf(this.values, this.grow(this.size));
+				}
+				
+				this.values[this.size++] = verified.getObject();
+			}
+			
+			return verified.getVerifiedType();
+		}
+		
+		protected Object toArray() {
+			Object array = Array.newInstance(this.clazz, this.size);
+			System.arraycopy(this.values, 0, array, 0, this.size);
+			
+			return array;
+		}
+	}
+	
+	/* The value is parsed directly in to the slot by the built-in parser if it is used, otherwise the argument is used and the result is unboxed */
+	private static class IntBuffer extends Buffer {
+		
+		private final IArgument<?> argument;
+		private final IntArgumentParser parser;
+		
+		private int[] values = new int[0];
+		
+		private IntBuffer(IArgument<?> argument, IntArgumentParser parser) {
+			this.argument = argument;
+			this.parser = parser;
+		}
 		
-		Type[] arguments = (Type[]) Array.newInstance(this.clazz, (this.maxArguments > 0) ? this.maxArguments : (int) value.codePoints().filter(c2 -> c2 == ' ').count() + 1);
+		protected VerifiedType add(ParseContext context, String value, int start, int end, String content) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.grow(this.size));
+			}
+			
+			if(this.parser != null) {
+				boolean valid = (content != null) ? this.parser.parse(content, 0, content.length(), this.values, this.size) : this.parser.parse(value, start, end, this.values, this.size);
+				if(!valid) {
+					return VerifiedType.INVALID;
+				}
+				
+				this.size++;
+				
+				return VerifiedType.VALID;
+			}
+			
+			VerifiedArgument<?> verified = this.argument.verify(context, (content != null) ? content : value.substring(start, end));
+			if(verified.getVerifiedType() != VerifiedType.INVALID) {
+				this.values[this.size++] = ((Number) verified.getObject()).intValue();
+			}
+			
+			return verified.getVerifiedType();
+		}
+		
+		protected Object toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+	
+	private static class LongBuffer extends Buffer {
+		
+		private final IArgument<?> argument;
+		private final LongArgumentParser parser;
+		
+		private long[] values = new long[0];
+		
+		private LongBuffer(IArgument<?> argument, LongArgumentParser parser) {
+			this.argument = argument;
+			this.parser = parser;
+		}
+		
+		protected VerifiedType add(ParseContext context, String value, int start, int end, String content) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.grow(this.size));
+			}
+			
+			if(this.parser != null) {
+				boolean valid = (content != null) ? this.parser.parse(content, 0, content.length(), this.values, this.size) : this.parser.parse(value, start, end, this.values, this.size);
+				if(!valid) {
+					return VerifiedType.INVALID;
+				}
+				
+				this.size++;
+				
+				return VerifiedType.VALID;
+			}
+			
+			VerifiedArgument<?> verified = this.argument.verify(context, (content != null) ? content : value.substring(start, end));
+			if(verified.getVerifiedType() != VerifiedType.INVALID) {
+				this.values[this.size++] = ((Number) verified.getObject()).longValue();
+			}
+			
+			return verified.getVerifiedType();
+		}
+		
+		protected Object toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+	
+	private static class DoubleBuffer extends Buffer {
+		
+		private final IArgument<?> argument;
+		private final DoubleArgumentParser parser;
+		
+		private double[] values = new double[0];
+		
+		private DoubleBuffer(IArgument<?> argument, DoubleArgumentParser parser) {
+			this.argument = argument;
+			this.parser = parser;
+		}
+		
+		protected VerifiedType add(ParseContext context, String value, int start, int end, String content) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.grow(this.size));
+			}
+			
+			if(this.parser != null) {
+				boolean valid = (content != null) ? this.parser.parse(content, 0, content.length(), this.values, this.size) : this.parser.parse(value, start, end, this.values, this.size);
+				if(!valid) {
+					return VerifiedType.INVALID;
+				}
+				
+				this.size++;
+				
+				return VerifiedType.VALID;
+			}
+			
+			VerifiedArgument<?> verified = this.argument.verify(context, (content != null) ? content : value.substring(start, end));
+			if(verified.getVerifiedType() != VerifiedType.INVALID) {
+				this.values[this.size++] = ((Number) verified.getObject()).doubleValue();
+			}
+			
+			return verified.getVerifiedType();
+		}
+		
+		protected Object toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+	
+	/* The built-in parser of the argument if it has one of the type, null otherwise */
+	private static <T> T getParser(IArgument<?> argument, Class<T> type) {
+		if(!(argument instanceof SimpleArgument)) {
+			return null;
+		}
+		
+		IArgumentParser<?> parser = ((SimpleArgument<?>) argument).getParser();
+		if(parser instanceof CachedArgumentParser) {
+			parser = ((CachedArgumentParser<?>) parser).getParser();
+		}
+		
+		return type.isInstance(parser) ? type.cast(parser) : null;
+	}
+	
+	private Buffer createBuffer() {
+		if(this.clazz == int.class) {
+			return new IntBuffer(this.argument, EndlessArgumentImpl.getParser(this.argument, IntArgumentParser.class));
+		}else if(this.clazz == long.class) {
+			return new LongBuffer(this.argument, EndlessArgumentImpl.getParser(this.argument, LongArgumentParser.class));
+		}else if(this.clazz == double.class) {
+			return new DoubleBuffer(this.argument, EndlessArgumentImpl.getParser(this.argument, DoubleArgumentParser.class));
+		}
+		
+		return new ObjectBuffer<>(this.argument, this.clazz);
+	}
+	
+	/* Whether or not there is nothing but whitespace from the index */
+	private static boolean isBlank(String value, int index) {
+		for(int i = index; i < value.length(); i++) {
+			if(value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/* 
+	 * The values are read with a single cursor going through the content once instead of creating what is left of the content for every value,
+	 * there is a hard limit to how many values are read so that a single argument can not take an unreasonable amount of time
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public VerifiedArgument<Type[]> verify(ParseContext context, String value) {
+		/* Only the object is taken from each verified argument so the result of the context can be used for all of them and for the array itself */
+		MutableVerifiedArgument<Type[]> result = context.getResult();
+		
+		int limit = Integer.MAX_VALUE;
+		if(this.maxArguments > 0) {
+			limit = this.maxArguments;
+		}else if(this.tokenLimit > 0) {
+			limit = this.tokenLimit;
+		}
+		
+		Buffer buffer = this.createBuffer();
+		
+		int index = 0, length = value.length();
 		
 		ARGUMENTS:
-		for(int i = 0; i < arguments.length; i++) {
-			if(value.trim().length() == 0) {
+		for(int i = 0; i < limit; i++) {
+			if(EndlessArgumentImpl.isBlank(value, index)) {
 				break;
 			}
 			
-			if(i != 0 && value.length() > 0) {
-				if(value.startsWith(" ")) {
-					value = value.substring(1);
+			if(i != 0 && index < length) {
+				if(value.charAt(index) == ' ') {
+					index++;
 				}else{
 					/* When does this happen? */
 					
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
+					return VerifiedArgument.invalid();
 				}
 			}
 			
+			int start = index, end = index;
+			
 			String content = null;
-			if(value.length() > 0) {
+			if(index < length) {
 				if(this.argument.acceptQuote()) {
-					if(value.charAt(0) == '"') {
-						int nextQuote = 0;
+					if(value.charAt(index) == '"') {
+						int nextQuote = index;
 						while((nextQuote = value.indexOf('"', nextQuote + 1)) != -1 && value.charAt(nextQuote - 1) == '\\');
 						
 						if(nextQuote != -1) {
-							content = value.substring(1, nextQuote);
-							
-							value = value.substring(content.length() + 2);
+							content = value.substring(index + 1, nextQuote).replace("\\\"", "\"");
 							
-							content = content.replace("\\\"", "\"");
+							index = nextQuote + 1;
 						}
 					}
 				}
 				
 				if(content == null) {
-					content = value.substring(0, (value.contains(" ")) ? value.indexOf(" ") : value.length());
-					value = value.substring(content.length());
+					end = value.indexOf(' ', index);
+					if(end == -1) {
+						end = length;
+					}
+					
+					index = end;
 				}
-			}else{
-				content = "";
 			}
 			
-			if(content.length() == 0 && !this.argument.acceptEmpty()) {
-				/* Content may not be empty */
-				return new VerifiedArgument<>(VerifiedType.INVALID, null);
+			if((content != null) ? content.length() == 0 : start == end) {
+				if(!this.argument.acceptEmpty()) {
+					/* Content may not be empty */
+					return VerifiedArgument.invalid();
+				}
+				
+				if(content == null) {
+					content = "";
+				}
 			}
 			
-			VerifiedArgument<Type> verified = this.argument.verify(event, content);
-			switch(verified.getVerifiedType()) {
+			switch(buffer.add(context, value, start, end, content)) {
 				case INVALID: {
 					
 					/* "is invalid, argument at index " + (i + 1) + " is not valid" */
-					return new VerifiedArgument<>(VerifiedType.INVALID, null);
+					return VerifiedArgument.invalid();
 				}
 				case VALID: {
-					arguments[args++] = (Type) verified.getObject();
-					
 					break;
 				}
 				case VALID_END_NOW: {
-					arguments[args++] = (Type) verified.getObject();
-					
 					break ARGUMENTS;
 				}
 			}
 		}
 		
-		if(value.length() > 0) {
-			/* Content overflow, when does this happen? */
+		if(index < length) {
+			/* Content overflow or more values than the limit */
 			
-			return new VerifiedArgument<>(VerifiedType.INVALID, null);
+			return VerifiedArgument.invalid();
 		}
 		
-		if(args < this.minArguments || ((this.maxArguments > 0) ? args > this.maxArguments : false)) {
-			return new VerifiedArgument<>(VerifiedType.INVALID, null);
+		if(buffer.size < this.minArguments || ((this.maxArguments > 0) ? buffer.size > this.maxArguments : false)) {
+			return VerifiedArgument.invalid();
 		}
 		
-		Type[] objects = (Type[]) Array.newInstance(this.clazz, args);
-		for(int i2 = 0; i2 < objects.length; i2++) {
-			objects[i2] = (Type) arguments[i2];
-		}
-		
-		arguments = objects;
-		
+		/* Raw since primitive types result in a primitive array which is not a Type[] */
 		if(this.isEndless()) {
-			return new VerifiedArgument<>(VerifiedType.VALID_END_NOW, arguments);
+			return ((MutableVerifiedArgument) result).set(VerifiedType.VALID_END_NOW, buffer.toArray());
 		}else{
-			return new VerifiedArgument<>(VerifiedType.VALID, arguments);
+			return ((MutableVerifiedArgument) result).set(VerifiedType.VALID, buffer.toArray());
 		}
 	}
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.jockie.bot.core.argument.impl;
 
+import java.util.concurrent.CompletionStage;
+
 import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.ParseContext;
 import com.jockie.bot.core.argument.VerifiedArgument;
 import com.jockie.bot.core.argument.impl.parser.IArgumentParser;
+import com.jockie.bot.core.argument.impl.parser.IReusableArgumentParser;
 
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
 
@@ -18,6 +23,10 @@ public class SimpleArgument<Type> extends ArgumentImpl<Type> {
 			return this.self();
 		}
 		
+		public Builder<Type> setParser(IReusableArgumentParser<Type> parser) {
+			return this.setParser((IArgumentParser<Type>) parser);
+		}
+		
 		public IArgumentParser<Type> getParser() {
 			return this.parser;
 		}
@@ -39,7 +48,27 @@ public class SimpleArgument<Type> extends ArgumentImpl<Type> {
 		this.parser = builder.parser;
 	}
 	
+	public IArgumentParser<Type> getParser() {
+		return this.parser;
+	}
+	
 	public VerifiedArgument<Type> verify(MessageReceivedEvent event, String value) {
 		return this.parser.parse(event, this, value);
 	}
+	
+	public VerifiedArgument<Type> verify(MessageReceivedEvent event, String value, MutableVerifiedArgument<Type> result) {
+		if(this.parser instanceof IReusableArgumentParser) {
+			return ((IReusableArgumentParser<Type>) this.parser).parse(event, this, value, result);
+		}
+		
+		return this.parser.parse(event, this, value);
+	}
+	
+	public VerifiedArgument<Type> verify(ParseContext context, String value) {
+		return this.parser.parse(context, this, value);
+	}
+	
+	public CompletionStage<VerifiedArgument<Type>> verifyAsync(ParseContext context, String value) {
+		return this.parser.parseAsync(context, this, value);
+	}
 }
\ No newline at end of file
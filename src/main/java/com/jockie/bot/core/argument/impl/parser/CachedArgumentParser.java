@@ -0,0 +1,78 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.ParseContext;
+import com.jockie.bot.core.argument.VerifiedArgument;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Remembers the results of another parser for the rest of the {@link ParseContext}, 
+ * this should only be used for parsers which only depend on the content and the event and not on the argument
+ */
+public class CachedArgumentParser<Type> implements IReusableArgumentParser<Type> {
+	
+	private final Class<Type> type;
+	
+	private final IArgumentParser<Type> parser;
+	
+	public CachedArgumentParser(Class<Type> type, IArgumentParser<Type> parser) {
+		this.type = type;
+		this.parser = parser;
+	}
+	
+	public Class<Type> getType() {
+		return this.type;
+	}
+	
+	public IArgumentParser<Type> getParser() {
+		return this.parser;
+	}
+	
+	/* Without a context there is nothing to remember the result in */
+	public VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content, MutableVerifiedArgument<Type> result) {
+		if(this.parser instanceof IReusableArgumentParser) {
+			return ((IReusableArgumentParser<Type>) this.parser).parse(event, argument, content, result);
+		}
+		
+		return this.parser.parse(event, argument, content);
+	}
+	
+	public VerifiedArgument<Type> parse(ParseContext context, IArgument<Type> argument, String content) {
+		VerifiedArgument<Type> verified = context.getResolved(this.type, content);
+		if(verified == null) {
+			/* The result may be the re-usable one from the context, which can not be kept */
+			verified = this.parser.parse(context, argument, content).toImmutable();
+			
+			context.setResolved(this.type, content, verified);
+		}
+		
+		return verified;
+	}
+	
+	public CompletionStage<VerifiedArgument<Type>> parseAsync(ParseContext context, IArgument<Type> argument, String content) {
+		VerifiedArgument<Type> verified = context.getResolved(this.type, content);
+		if(verified != null) {
+			return CompletableFuture.completedFuture(verified);
+		}
+		
+		/* Another command may already be waiting for the same content */
+		CompletionStage<VerifiedArgument<Type>> stage = context.getPending(this.type, content);
+		if(stage == null) {
+			stage = this.parser.parseAsync(context, argument, content).thenApply((result) -> {
+				VerifiedArgument<Type> immutable = result.toImmutable();
+				context.setResolved(this.type, content, immutable);
+				
+				return immutable;
+			});
+			
+			context.setPending(this.type, content, stage);
+		}
+		
+		return stage;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Parses decimal numbers, the value is validated before it is parsed so that no {@link NumberFormatException} has to be thrown (and caught) for invalid input.
+ * </br></br>
+ * Accepted are decimal numbers with an optional sign, fraction, exponent and type suffix ({@code f}, {@code F}, {@code d} or {@code D}) as well as {@code NaN} and {@code Infinity},
+ * unlike {@link Double#parseDouble(String)} hexadecimal numbers and surrounding whitespace are not accepted
+ */
+public class DoubleArgumentParser implements IReusableArgumentParser<Double> {
+	
+	public static final DoubleArgumentParser INSTANCE = new DoubleArgumentParser();
+	
+	/**
+	 * @return whether or not the content between start and end can be parsed by {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}
+	 */
+	public static boolean isValid(CharSequence value, int start, int end) {
+		int i = start;
+		
+		if(i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+			i++;
+		}
+		
+		if(DoubleArgumentParser.regionEquals(value, i, end, "NaN") || DoubleArgumentParser.regionEquals(value, i, end, "Infinity")) {
+			return true;
+		}
+		
+		int digits = 0;
+		for(; i < end && DoubleArgumentParser.isDigit(value.charAt(i)); i++, digits++);
+		
+		if(i < end && value.charAt(i) == '.') {
+			for(i++; i < end && DoubleArgumentParser.isDigit(value.charAt(i)); i++, digits++);
+		}
+		
+		if(digits == 0) {
+			return false;
+		}
+		
+		if(i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+			i++;
+			
+			if(i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+				i++;
+			}
+			
+			int exponentDigits = 0;
+			for(; i < end && DoubleArgumentParser.isDigit(value.charAt(i)); i++, exponentDigits++);
+			
+			if(exponentDigits == 0) {
+				return false;
+			}
+		}
+		
+		if(i < end) {
+			char suffix = value.charAt(i);
+			if(suffix == 'f' || suffix == 'F' || suffix == 'd' || suffix == 'D') {
+				i++;
+			}
+		}
+		
+		return i == end;
+	}
+	
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
+	}
+	
+	private static boolean regionEquals(CharSequence value, int start, int end, String expected) {
+		if(end - start != expected.length()) {
+			return false;
+		}
+		
+		for(int i = 0; i < expected.length(); i++) {
+			if(value.charAt(start + i) != expected.charAt(i)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Parses the content between start and end directly in to the slot, the slot is left untouched if the value is not valid
+	 * 
+	 * @return whether or not the value was valid
+	 */
+	public boolean parse(CharSequence value, int start, int end, double[] slots, int slot) {
+		if(!DoubleArgumentParser.isValid(value, start, end)) {
+			return false;
+		}
+		
+		slots[slot] = Double.parseDouble(value.subSequence(start, end).toString());
+		
+		return true;
+	}
+	
+	public VerifiedArgument<Double> parse(MessageReceivedEvent event, IArgument<Double> argument, String content, MutableVerifiedArgument<Double> result) {
+		if(!DoubleArgumentParser.isValid(content, 0, content.length())) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return result.set(VerifiedType.VALID, Double.parseDouble(content));
+	}
+}
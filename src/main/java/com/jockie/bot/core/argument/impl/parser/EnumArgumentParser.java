@@ -0,0 +1,139 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jockie.bot.core.argument.EnumAlias;
+import com.jockie.bot.core.argument.EnumPrefix;
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Parses enum constants by a case insensitive lookup table which is created once per enum type, 
+ * the names can be extended with {@link EnumAlias} and abbreviated by annotating the enum with {@link EnumPrefix}
+ */
+public class EnumArgumentParser<Type extends Enum<Type>> implements IReusableArgumentParser<Type> {
+	
+	private static final Map<Class<?>, EnumArgumentParser<?>> PARSERS = new ConcurrentHashMap<>();
+	
+	/**
+	 * @return the parser for the enum type, this is only created the first time it is requested
+	 */
+	@SuppressWarnings("unchecked")
+	public static <Type extends Enum<Type>> EnumArgumentParser<Type> of(Class<Type> type) {
+		return (EnumArgumentParser<Type>) EnumArgumentParser.PARSERS.computeIfAbsent(type, (key) -> new EnumArgumentParser<>(type));
+	}
+	
+	private final Class<Type> type;
+	
+	private final Map<String, Type> constants;
+	
+	/* Sorted names (and aliases) with the constant at the same index, only used for prefix matching */
+	private final String[] sortedNames;
+	private final Type[] sortedConstants;
+	
+	private final int minPrefixLength;
+	
+	private EnumArgumentParser(Class<Type> type) {
+		this.type = type;
+		
+		Type[] enums = type.getEnumConstants();
+		
+		Map<String, Type> constants = new HashMap<>();
+		for(Type constant : enums) {
+			constants.put(EnumArgumentParser.fold(constant.name()), constant);
+		}
+		
+		/* Aliases are added after all the names so that an alias can never hide the name of another constant */
+		for(Type constant : enums) {
+			EnumAlias alias;
+			try {
+				alias = type.getField(constant.name()).getAnnotation(EnumAlias.class);
+			}catch(NoSuchFieldException e) {
+				alias = null;
+			}
+			
+			if(alias != null) {
+				for(String name : alias.value()) {
+					constants.putIfAbsent(EnumArgumentParser.fold(name), constant);
+				}
+			}
+		}
+		
+		this.constants = constants;
+		
+		EnumPrefix prefix = type.getAnnotation(EnumPrefix.class);
+		if(prefix != null) {
+			this.sortedNames = constants.keySet().toArray(new String[0]);
+			Arrays.sort(this.sortedNames);
+			
+			this.sortedConstants = Arrays.copyOf(enums, this.sortedNames.length);
+			for(int i = 0; i < this.sortedNames.length; i++) {
+				this.sortedConstants[i] = constants.get(this.sortedNames[i]);
+			}
+			
+			this.minPrefixLength = Math.max(1, prefix.minLength());
+		}else{
+			this.sortedNames = null;
+			this.sortedConstants = null;
+			
+			this.minPrefixLength = 0;
+		}
+	}
+	
+	private static String fold(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+	
+	public Class<Type> getType() {
+		return this.type;
+	}
+	
+	public boolean isPrefixEnabled() {
+		return this.sortedNames != null;
+	}
+	
+	/**
+	 * @return the constant with the name, alias or (if enabled) unique prefix or null if there is none
+	 */
+	public Type get(String value) {
+		String folded = EnumArgumentParser.fold(value);
+		
+		Type constant = this.constants.get(folded);
+		if(constant != null || this.sortedNames == null || folded.length() < this.minPrefixLength) {
+			return constant;
+		}
+		
+		int index = Arrays.binarySearch(this.sortedNames, folded);
+		if(index < 0) {
+			index = -(index + 1);
+		}
+		
+		/* All the names starting with the prefix are next to each other, it is only a match if they all belong to the same constant */
+		for(; index < this.sortedNames.length && this.sortedNames[index].startsWith(folded); index++) {
+			if(constant == null) {
+				constant = this.sortedConstants[index];
+			}else if(constant != this.sortedConstants[index]) {
+				return null;
+			}
+		}
+		
+		return constant;
+	}
+	
+	public VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content, MutableVerifiedArgument<Type> result) {
+		Type constant = this.get(content);
+		if(constant == null) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return result.set(VerifiedType.VALID, constant);
+	}
+}
\ No newline at end of file
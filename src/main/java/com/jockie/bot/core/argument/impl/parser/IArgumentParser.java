@@ -1,6 +1,10 @@
 package com.jockie.bot.core.argument.impl.parser;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.ParseContext;
 import com.jockie.bot.core.argument.VerifiedArgument;
 
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
@@ -10,4 +14,21 @@ public interface IArgumentParser<Type> {
 	
 	public VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content);
 	
+	/**
+	 * Parse the content as part of a larger parse, by default this is the same as {@link #parse(MessageReceivedEvent, IArgument, String)}
+	 */
+	public default VerifiedArgument<Type> parse(ParseContext context, IArgument<Type> argument, String content) {
+		return this.parse(context.getEvent(), argument, content);
+	}
+	
+	/**
+	 * Parse the content without blocking, this is used when the {@link com.jockie.bot.core.command.impl.CommandListener CommandListener} parses arguments asynchronously. 
+	 * By default this completes straight away with the result of {@link #parse(ParseContext, IArgument, String)}, 
+	 * parsers which may have to wait for something (such as a request) should override it
+	 * 
+	 * @return the parse, this should never complete with a {@link com.jockie.bot.core.argument.MutableVerifiedArgument MutableVerifiedArgument}
+	 */
+	public default CompletionStage<VerifiedArgument<Type>> parseAsync(ParseContext context, IArgument<Type> argument, String content) {
+		return CompletableFuture.completedFuture(this.parse(context, argument, content).toImmutable());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import java.util.concurrent.CompletionStage;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.ParseContext;
+import com.jockie.bot.core.argument.VerifiedArgument;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * An {@link IArgumentParser} which can only parse asynchronously, for instance because it has to make a request.
+ * </br></br>
+ * When arguments are not parsed asynchronously (see {@link com.jockie.bot.core.command.impl.CommandListener#setAsyncArguments(boolean) CommandListener#setAsyncArguments(boolean)}) 
+ * the parse will block until it has completed
+ */
+@FunctionalInterface
+public interface IAsyncArgumentParser<Type> extends IArgumentParser<Type> {
+	
+	public CompletionStage<VerifiedArgument<Type>> parseAsync(ParseContext context, IArgument<Type> argument, String content);
+	
+	public default VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content) {
+		return this.parseAsync(new ParseContext(event), argument, content).toCompletableFuture().join();
+	}
+	
+	public default VerifiedArgument<Type> parse(ParseContext context, IArgument<Type> argument, String content) {
+		return this.parseAsync(context, argument, content).toCompletableFuture().join();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.ParseContext;
+import com.jockie.bot.core.argument.VerifiedArgument;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * An {@link IArgumentParser} which returns its results through a re-usable {@link MutableVerifiedArgument} instead of creating a new {@link VerifiedArgument} for each parse
+ */
+@FunctionalInterface
+public interface IReusableArgumentParser<Type> extends IArgumentParser<Type> {
+	
+	/**
+	 * @param result the re-usable result, a valid result should be returned through {@link MutableVerifiedArgument#set(VerifiedArgument.VerifiedType, Object)} 
+	 * and an invalid one as {@link VerifiedArgument#invalid()}
+	 * 
+	 * @return the result of the parse, this may be the provided result and is only valid until that is used again
+	 */
+	public VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content, MutableVerifiedArgument<Type> result);
+	
+	public default VerifiedArgument<Type> parse(MessageReceivedEvent event, IArgument<Type> argument, String content) {
+		return this.parse(event, argument, content, new MutableVerifiedArgument<>());
+	}
+	
+	public default VerifiedArgument<Type> parse(ParseContext context, IArgument<Type> argument, String content) {
+		return this.parse(context.getEvent(), argument, content, context.getResult());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Parses whole numbers without throwing (and catching) a {@link NumberFormatException} for invalid input,
+ * the bounds can be narrowed so that the same parser can be used for bytes and shorts
+ */
+public class IntArgumentParser implements IReusableArgumentParser<Integer> {
+	
+	public static final IntArgumentParser INSTANCE = new IntArgumentParser(Integer.MIN_VALUE, Integer.MAX_VALUE);
+	
+	public static final IntArgumentParser BYTE = new IntArgumentParser(Byte.MIN_VALUE, Byte.MAX_VALUE);
+	public static final IntArgumentParser SHORT = new IntArgumentParser(Short.MIN_VALUE, Short.MAX_VALUE);
+	
+	private final int min, max;
+	
+	/**
+	 * @param min the smallest allowed value, for instance {@link Byte#MIN_VALUE} for a byte
+	 * @param max the largest allowed value, for instance {@link Byte#MAX_VALUE} for a byte
+	 */
+	public IntArgumentParser(int min, int max) {
+		this.min = min;
+		this.max = max;
+	}
+	
+	public int getMin() {
+		return this.min;
+	}
+	
+	public int getMax() {
+		return this.max;
+	}
+	
+	/**
+	 * Parses the content between start and end directly in to the slot, the slot is left untouched if the value is not valid
+	 * 
+	 * @return whether or not the value was valid
+	 */
+	public boolean parse(CharSequence value, int start, int end, int[] slots, int slot) {
+		long[] parsed = LongArgumentParser.SLOT.get();
+		if(!LongArgumentParser.parseLong(value, start, end, this.min, this.max, parsed, 0)) {
+			return false;
+		}
+		
+		slots[slot] = (int) parsed[0];
+		
+		return true;
+	}
+	
+	public VerifiedArgument<Integer> parse(MessageReceivedEvent event, IArgument<Integer> argument, String content, MutableVerifiedArgument<Integer> result) {
+		long[] parsed = LongArgumentParser.SLOT.get();
+		if(!LongArgumentParser.parseLong(content, 0, content.length(), this.min, this.max, parsed, 0)) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return result.set(VerifiedType.VALID, (int) parsed[0]);
+	}
+	
+	/**
+	 * @return a parser which returns the values of this parser as bytes through the re-usable result, the bounds of this parser should be within those of a byte
+	 */
+	public IReusableArgumentParser<Byte> toByteParser() {
+		return (event, argument, content, result) -> {
+			long[] parsed = LongArgumentParser.SLOT.get();
+			if(!LongArgumentParser.parseLong(content, 0, content.length(), this.min, this.max, parsed, 0)) {
+				return VerifiedArgument.invalid();
+			}
+			
+			return result.set(VerifiedType.VALID, (byte) parsed[0]);
+		};
+	}
+	
+	/**
+	 * @return a parser which returns the values of this parser as shorts through the re-usable result, the bounds of this parser should be within those of a short
+	 */
+	public IReusableArgumentParser<Short> toShortParser() {
+		return (event, argument, content, result) -> {
+			long[] parsed = LongArgumentParser.SLOT.get();
+			if(!LongArgumentParser.parseLong(content, 0, content.length(), this.min, this.max, parsed, 0)) {
+				return VerifiedArgument.invalid();
+			}
+			
+			return result.set(VerifiedType.VALID, (short) parsed[0]);
+		};
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Parses longs without throwing (and catching) a {@link NumberFormatException} for invalid input,
+ * invalid input is the most common case since every overload of a command is tried
+ */
+public class LongArgumentParser implements IReusableArgumentParser<Long> {
+	
+	public static final LongArgumentParser INSTANCE = new LongArgumentParser();
+	
+	/* Re-used so that parsing a boxed value does not have to allocate a slot each time */
+	static final ThreadLocal<long[]> SLOT = ThreadLocal.withInitial(() -> new long[1]);
+	
+	/**
+	 * Equivalent to {@link Long#parseLong(String)} except that it does not throw for invalid values
+	 * 
+	 * @return whether or not the content between start and end was a valid number within the bounds, 
+	 * if it was the value has been written to the slot
+	 */
+	static boolean parseLong(CharSequence value, int start, int end, long min, long max, long[] slots, int slot) {
+		if(start >= end) {
+			return false;
+		}
+		
+		boolean negative = false;
+		
+		int i = start;
+		
+		char first = value.charAt(i);
+		if(first == '-' || first == '+') {
+			negative = first == '-';
+			
+			if(++i == end) {
+				return false;
+			}
+		}
+		
+		/* Accumulated negatively, the same way Long#parseLong does it, so that Long.MIN_VALUE can be represented */
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyLimit = limit / 10;
+		
+		long result = 0;
+		for(; i < end; i++) {
+			int digit = Character.digit(value.charAt(i), 10);
+			if(digit < 0 || result < multiplyLimit) {
+				return false;
+			}
+			
+			result *= 10;
+			
+			if(result < limit + digit) {
+				return false;
+			}
+			
+			result -= digit;
+		}
+		
+		result = negative ? result : -result;
+		
+		if(result < min || result > max) {
+			return false;
+		}
+		
+		slots[slot] = result;
+		
+		return true;
+	}
+	
+	/**
+	 * Parses the content between start and end directly in to the slot, the slot is left untouched if the value is not valid
+	 * 
+	 * @return whether or not the value was valid
+	 */
+	public boolean parse(CharSequence value, int start, int end, long[] slots, int slot) {
+		return LongArgumentParser.parseLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE, slots, slot);
+	}
+	
+	public VerifiedArgument<Long> parse(MessageReceivedEvent event, IArgument<Long> argument, String content, MutableVerifiedArgument<Long> result) {
+		long[] slot = LongArgumentParser.SLOT.get();
+		if(!this.parse(content, 0, content.length(), slot, 0)) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return result.set(VerifiedType.VALID, slot[0]);
+	}
+}
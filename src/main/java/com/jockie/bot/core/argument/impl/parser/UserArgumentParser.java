@@ -0,0 +1,58 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.ParseContext;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+import com.jockie.bot.core.utility.ArgumentUtility;
+
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.Message.MentionType;
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Parses users by mention or id, when parsing synchronously only cached users can be found 
+ * while asynchronously users which are not cached are retrieved instead
+ */
+public class UserArgumentParser implements IReusableArgumentParser<User> {
+	
+	public static final UserArgumentParser INSTANCE = new UserArgumentParser();
+	
+	public VerifiedArgument<User> parse(MessageReceivedEvent event, IArgument<User> argument, String content, MutableVerifiedArgument<User> result) {
+		User user = ArgumentUtility.getUser(event.getJDA(), content);
+		if(user == null) {
+			return VerifiedArgument.invalid();
+		}
+		
+		return result.set(VerifiedType.VALID, user);
+	}
+	
+	public CompletionStage<VerifiedArgument<User>> parseAsync(ParseContext context, IArgument<User> argument, String content) {
+		JDA jda = context.getEvent().getJDA();
+		
+		long id = ArgumentUtility.getId(content, MentionType.USER);
+		if(id == -1L) {
+			return CompletableFuture.completedFuture(VerifiedArgument.invalid());
+		}
+		
+		User user = jda.getUserById(id);
+		if(user != null) {
+			return CompletableFuture.completedFuture(new VerifiedArgument<>(VerifiedType.VALID, user));
+		}
+		
+		CompletableFuture<VerifiedArgument<User>> future = new CompletableFuture<>();
+		jda.retrieveUserById(id).queue((retrievedUser) -> {
+			future.complete(new VerifiedArgument<>(VerifiedType.VALID, retrievedUser));
+		}, (failure) -> {
+			/* Most likely an unknown user */
+			future.complete(VerifiedArgument.invalid());
+		});
+		
+		return future;
+	}
+}
\ No newline at end of file
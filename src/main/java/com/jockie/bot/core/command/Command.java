@@ -6,6 +6,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.concurrent.TimeUnit;
 
+import com.jockie.bot.core.command.ICommand.ExecutionOrder;
 import com.jockie.bot.core.cooldown.ICooldown.Scope;
 
 import net.dv8tion.jda.core.Permission;
@@ -39,7 +40,16 @@ public @interface Command {
 	public Scope cooldownScope() default Scope.USER;
 	
 	public boolean async() default false;
+	public ExecutionOrder executionOrder() default ExecutionOrder.UNORDERED;
 	
 	public boolean nsfw() default false;
 	
+	/**
+	 * @return how long the result of the command should be cached for, if this is less than or equal to 0 the result will not be cached, see {@link com.jockie.bot.core.command.impl.ResultCache ResultCache}
+	 */
+	public long cache() default 0;
+	public TimeUnit cacheUnit() default TimeUnit.SECONDS;
+	public Scope cacheScope() default Scope.GLOBAL;
+	public int cacheSize() default 256;
+
 }
\ No newline at end of file
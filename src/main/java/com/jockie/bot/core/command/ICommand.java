@@ -9,6 +9,7 @@ import com.jockie.bot.core.argument.IEndlessArgument;
 import com.jockie.bot.core.category.ICategory;
 import com.jockie.bot.core.command.impl.CommandEvent;
 import com.jockie.bot.core.command.impl.CommandListener;
+import com.jockie.bot.core.command.impl.ParsePlan;
 import com.jockie.bot.core.cooldown.ICooldown;
 import com.jockie.bot.core.option.IOption;
 
@@ -120,6 +121,20 @@ public interface ICommand {
 	 */
 	public Permission[] getAuthorDiscordPermissionsNeeded();
 	
+	/**
+	 * @return the raw value of {@link #getBotDiscordPermissionsNeeded()}, implementations should compute this once instead of every time it is called
+	 */
+	public default long getBotDiscordPermissionsNeededRaw() {
+		return Permission.getRaw(this.getBotDiscordPermissionsNeeded());
+	}
+	
+	/**
+	 * @return the raw value of {@link #getAuthorDiscordPermissionsNeeded()}, implementations should compute this once instead of every time it is called
+	 */
+	public default long getAuthorDiscordPermissionsNeededRaw() {
+		return Permission.getRaw(this.getAuthorDiscordPermissionsNeeded());
+	}
+	
 	/**
 	 * @return a boolean that will prove if this command is a <strong>developer</strong> command, if it is a developer command it can only be triggered by developers/authorised users
 	 */
@@ -159,6 +174,26 @@ public interface ICommand {
 	 */
 	public boolean isExecuteAsync();
 	
+	/**
+	 * @return the order in which executions of this command are run, this only applies to commands which are executed asynchronously ({@link #isExecuteAsync()})
+	 */
+	public default ExecutionOrder getExecutionOrder() {
+		return ExecutionOrder.UNORDERED;
+	}
+	
+	/**
+	 * This is used to determine whether the {@link CommandListener} should run asynchronous executions of a command one at a time, for instance a command which edits a queue
+	 * should not have two executions in the same channel running at the same time
+	 */
+	public enum ExecutionOrder {
+		/** Executions run in parallel and may finish in any order */
+		UNORDERED,
+		/** Executions in the same channel run one at a time in the order they were received */
+		CHANNEL,
+		/** Executions by the same user run one at a time in the order they were received */
+		USER;
+	}
+	
 	/**
 	 * @return the parent of this command, a parent is used to get the full trigger for this command, 
 	 * for instance if the parent's command trigger was "mute" and this command's trigger was "all" the whole trigger would be "mute all"
@@ -255,6 +290,16 @@ public interface ICommand {
 		return commands;
 	}
 	
+	/**
+	 * @return the compiled facts about this command's arguments and options which are used when parsing a message,
+	 * implementations should cache this and only create a new one when the arguments, options or policies change
+	 */
+	
+	/* Including a default implementation in-case people wants to make their own ICommand implementation */
+	public default ParsePlan getParsePlan() {
+		return new ParsePlan(this);
+	}
+	
 	/**
 	 * @return information about the arguments
 	 */
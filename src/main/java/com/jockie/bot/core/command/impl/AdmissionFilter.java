@@ -0,0 +1,325 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.jockie.bot.core.utility.ImmutableLongSet;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * Decides whether or not a message should be handled at all based on blacklisted users and guilds, a whitelist of users and users blacklisted in specific guilds,
+ * see {@link CommandListener#setAdmissionFilter(AdmissionFilter)}.
+ * </br></br>
+ * The ids are stored in sorted arrays ({@link ImmutableLongSet}) instead of boxed sets, which can optionally have a Bloom filter in front of them.
+ * Lookups do not lock, changes are synchronized and replace the lists instead of modifying them, this means that a list can be replaced in bulk
+ * without a message ever seeing half of the change
+ */
+public class AdmissionFilter implements Predicate<MessageReceivedEvent> {
+	
+	/* Immutable, replaced as a whole on every change so that lookups only have to read it once */
+	private static class Lists {
+		
+		private final ImmutableLongSet users;
+		private final ImmutableLongSet guilds;
+		
+		/* Null if the whitelist is not used */
+		private final ImmutableLongSet whitelist;
+		
+		/* Sorted guild ids and the users blacklisted in each of them */
+		private final long[] memberGuilds;
+		private final ImmutableLongSet[] members;
+		
+		private Lists(ImmutableLongSet users, ImmutableLongSet guilds, ImmutableLongSet whitelist, long[] memberGuilds, ImmutableLongSet[] members) {
+			this.users = users;
+			this.guilds = guilds;
+			this.whitelist = whitelist;
+			this.memberGuilds = memberGuilds;
+			this.members = members;
+		}
+		
+		private ImmutableLongSet getMembers(long guildId) {
+			int index = Arrays.binarySearch(this.memberGuilds, guildId);
+			
+			return (index >= 0) ? this.members[index] : ImmutableLongSet.EMPTY;
+		}
+	}
+	
+	private final boolean bloomFilter;
+	
+	private volatile Lists lists = new Lists(ImmutableLongSet.EMPTY, ImmutableLongSet.EMPTY, null, new long[0], new ImmutableLongSet[0]);
+	
+	public AdmissionFilter() {
+		this(false);
+	}
+	
+	/**
+	 * @param bloomFilter whether or not the lists should have a Bloom filter in front of them,
+	 * this makes lookups of ids which are not in large lists faster at the cost of {@link ImmutableLongSet#DEFAULT_BLOOM_BITS} bits per id
+	 */
+	public AdmissionFilter(boolean bloomFilter) {
+		this.bloomFilter = bloomFilter;
+	}
+	
+	public boolean isBloomFilterEnabled() {
+		return this.bloomFilter;
+	}
+	
+	private ImmutableLongSet create(ImmutableLongSet set) {
+		return (this.bloomFilter && set.size() > 0) ? set.withBloomFilter() : set;
+	}
+	
+	/**
+	 * @param guildId the id of the guild the message was sent in or -1 if it was not sent in a guild
+	 * 
+	 * @return whether or not messages from the user in the guild should be handled
+	 */
+	public boolean isAllowed(long guildId, long userId) {
+		Lists lists = this.lists;
+		
+		if(lists.whitelist != null && !lists.whitelist.contains(userId)) {
+			return false;
+		}
+		
+		if(lists.users.contains(userId)) {
+			return false;
+		}
+		
+		if(guildId != -1L) {
+			if(lists.guilds.contains(guildId)) {
+				return false;
+			}
+			
+			if(lists.memberGuilds.length > 0 && lists.getMembers(guildId).contains(userId)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	public boolean isAllowed(MessageReceivedEvent event) {
+		Guild guild = event.getGuild();
+		
+		return this.isAllowed(guild != null ? guild.getIdLong() : -1L, event.getAuthor().getIdLong());
+	}
+	
+	public boolean test(MessageReceivedEvent event) {
+		return this.isAllowed(event);
+	}
+	
+	/**
+	 * Replaces all the blacklisted users
+	 */
+	public synchronized AdmissionFilter setBlacklistedUsers(long... userIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(this.create(ImmutableLongSet.of(userIds)), lists.guilds, lists.whitelist, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	/**
+	 * Replaces all the blacklisted users
+	 */
+	public synchronized AdmissionFilter setBlacklistedUsers(Collection<Long> userIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(this.create(ImmutableLongSet.of(userIds)), lists.guilds, lists.whitelist, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	public synchronized AdmissionFilter addBlacklistedUsers(long... userIds) {
+		return this.setBlacklistedUsers(this.lists.users.with(userIds).toArray());
+	}
+	
+	public synchronized AdmissionFilter removeBlacklistedUsers(long... userIds) {
+		return this.setBlacklistedUsers(this.lists.users.without(userIds).toArray());
+	}
+	
+	public ImmutableLongSet getBlacklistedUsers() {
+		return this.lists.users;
+	}
+	
+	/**
+	 * Replaces all the blacklisted guilds
+	 */
+	public synchronized AdmissionFilter setBlacklistedGuilds(long... guildIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, this.create(ImmutableLongSet.of(guildIds)), lists.whitelist, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	/**
+	 * Replaces all the blacklisted guilds
+	 */
+	public synchronized AdmissionFilter setBlacklistedGuilds(Collection<Long> guildIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, this.create(ImmutableLongSet.of(guildIds)), lists.whitelist, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	public synchronized AdmissionFilter addBlacklistedGuilds(long... guildIds) {
+		return this.setBlacklistedGuilds(this.lists.guilds.with(guildIds).toArray());
+	}
+	
+	public synchronized AdmissionFilter removeBlacklistedGuilds(long... guildIds) {
+		return this.setBlacklistedGuilds(this.lists.guilds.without(guildIds).toArray());
+	}
+	
+	public ImmutableLongSet getBlacklistedGuilds() {
+		return this.lists.guilds;
+	}
+	
+	/**
+	 * Replaces the whitelisted users, once set only messages from these users will be handled
+	 * 
+	 * @param userIds the users to allow or null to not use the whitelist
+	 */
+	public synchronized AdmissionFilter setWhitelistedUsers(long... userIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, lists.guilds, (userIds != null) ? this.create(ImmutableLongSet.of(userIds)) : null, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	/**
+	 * Replaces the whitelisted users, once set only messages from these users will be handled
+	 * 
+	 * @param userIds the users to allow or null to not use the whitelist
+	 */
+	public synchronized AdmissionFilter setWhitelistedUsers(Collection<Long> userIds) {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, lists.guilds, (userIds != null) ? this.create(ImmutableLongSet.of(userIds)) : null, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	/**
+	 * Stops using the whitelist, messages from all users which are not blacklisted will be handled
+	 */
+	public synchronized AdmissionFilter removeWhitelist() {
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, lists.guilds, null, lists.memberGuilds, lists.members);
+		
+		return this;
+	}
+	
+	/**
+	 * @return the whitelisted users or null if the whitelist is not used
+	 */
+	public ImmutableLongSet getWhitelistedUsers() {
+		return this.lists.whitelist;
+	}
+	
+	/**
+	 * Replaces the users blacklisted in the guild
+	 */
+	public synchronized AdmissionFilter setBlacklistedMembers(long guildId, long... userIds) {
+		Lists lists = this.lists;
+		
+		long[] memberGuilds = lists.memberGuilds;
+		ImmutableLongSet[] members = lists.members;
+		
+		ImmutableLongSet set = this.create(ImmutableLongSet.of(userIds));
+		
+		int index = Arrays.binarySearch(memberGuilds, guildId);
+		if(index >= 0) {
+			if(set.isEmpty()) {
+				memberGuilds = new long[lists.memberGuilds.length - 1];
+				System.arraycopy(lists.memberGuilds, 0, memberGuilds, 0, index);
+				System.arraycopy(lists.memberGuilds, index + 1, memberGuilds, index, memberGuilds.length - index);
+				
+				members = new ImmutableLongSet[memberGuilds.length];
+				System.arraycopy(lists.members, 0, members, 0, index);
+				System.arraycopy(lists.members, index + 1, members, index, members.length - index);
+			}else{
+				members = members.clone();
+				members[index] = set;
+			}
+		}else if(!set.isEmpty()) {
+			index = -index - 1;
+			
+			memberGuilds = new long[lists.memberGuilds.length + 1];
+			System.arraycopy(lists.memberGuilds, 0, memberGuilds, 0, index);
+			System.arraycopy(lists.memberGuilds, index, memberGuilds, index + 1, lists.memberGuilds.length - index);
+			memberGuilds[index] = guildId;
+			
+			members = new ImmutableLongSet[memberGuilds.length];
+			System.arraycopy(lists.members, 0, members, 0, index);
+			System.arraycopy(lists.members, index, members, index + 1, lists.members.length - index);
+			members[index] = set;
+		}else{
+			return this;
+		}
+		
+		this.lists = new Lists(lists.users, lists.guilds, lists.whitelist, memberGuilds, members);
+		
+		return this;
+	}
+	
+	/**
+	 * Replaces the users blacklisted in every guild
+	 * 
+	 * @param members the guild ids and the users blacklisted in each of them
+	 */
+	public synchronized AdmissionFilter setBlacklistedMembers(Map<Long, ? extends Collection<Long>> members) {
+		long[] guildIds = new long[members.size()];
+		
+		int count = 0;
+		for(Map.Entry<Long, ? extends Collection<Long>> entry : members.entrySet()) {
+			if(!entry.getValue().isEmpty()) {
+				guildIds[count++] = entry.getKey();
+			}
+		}
+		
+		guildIds = Arrays.copyOf(guildIds, count);
+		Arrays.sort(guildIds);
+		
+		ImmutableLongSet[] sets = new ImmutableLongSet[count];
+		for(int i = 0; i < count; i++) {
+			sets[i] = this.create(ImmutableLongSet.of(members.get(guildIds[i])));
+		}
+		
+		Lists lists = this.lists;
+		
+		this.lists = new Lists(lists.users, lists.guilds, lists.whitelist, guildIds, sets);
+		
+		return this;
+	}
+	
+	public synchronized AdmissionFilter addBlacklistedMembers(long guildId, long... userIds) {
+		return this.setBlacklistedMembers(guildId, this.lists.getMembers(guildId).with(userIds).toArray());
+	}
+	
+	public synchronized AdmissionFilter removeBlacklistedMembers(long guildId, long... userIds) {
+		return this.setBlacklistedMembers(guildId, this.lists.getMembers(guildId).without(userIds).toArray());
+	}
+	
+	/**
+	 * @return the users blacklisted in the guild
+	 */
+	public ImmutableLongSet getBlacklistedMembers(long guildId) {
+		return this.lists.getMembers(guildId);
+	}
+	
+	/**
+	 * Removes everything from all the lists and stops using the whitelist
+	 */
+	public synchronized AdmissionFilter clear() {
+		this.lists = new Lists(ImmutableLongSet.EMPTY, ImmutableLongSet.EMPTY, null, new long[0], new ImmutableLongSet[0]);
+		
+		return this;
+	}
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.jockie.bot.core.cooldown.ICooldown;
 import com.jockie.bot.core.cooldown.ICooldownManager;
 
 import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.MessageBuilder;
 import net.dv8tion.jda.core.entities.ChannelType;
 import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.Member;
@@ -32,11 +33,20 @@ public class CommandEvent {
 	private String prefix;
 	private String commandTrigger;
 	
+	private OptionSet options;
+	
+	/* Created from the options the first time it is used */
 	private List<String> optionsPresent;
 	
 	public CommandEvent(MessageReceivedEvent event, CommandListener listener, ICommand command, 
 			Object[] arguments, String prefix, String commandTrigger, List<String> optionsPresent) {
 		
+		this(event, listener, command, arguments, prefix, commandTrigger, CommandEvent.toOptionSet(command, optionsPresent));
+	}
+	
+	public CommandEvent(MessageReceivedEvent event, CommandListener listener, ICommand command, 
+			Object[] arguments, String prefix, String commandTrigger, OptionSet options) {
+		
 		this.event = event;
 		this.commandListener = listener;
 		
@@ -47,7 +57,21 @@ public class CommandEvent {
 		this.prefix = prefix;
 		this.commandTrigger = commandTrigger;
 		
-		this.optionsPresent = optionsPresent;
+		this.options = options;
+	}
+	
+	private static OptionSet toOptionSet(ICommand command, List<String> optionsPresent) {
+		OptionSet options = new OptionSet(command.getParsePlan());
+		for(String option : optionsPresent) {
+			int index = options.getPlan().getOptionIndex(option);
+			if(index != -1) {
+				options.add(index, null);
+			}else{
+				options.addUnknown(option, null);
+			}
+		}
+		
+		return options;
 	}
 	
 	/** @return the message event which triggered the command */
@@ -135,14 +159,37 @@ public class CommandEvent {
 		return this.commandTrigger;
 	}
 	
-	/** @return all the options which were present when the command was executed */
+	/** @return the names of all the options which were present when the command was executed */
 	public List<String> getOptionsPresent() {
-		return Collections.unmodifiableList(this.optionsPresent);
+		if(this.optionsPresent == null) {
+			this.optionsPresent = Collections.unmodifiableList(this.options.getNames());
+		}
+		
+		return this.optionsPresent;
+	}
+	
+	/** @return the options which were present when the command was executed */
+	public OptionSet getOptions() {
+		return this.options;
 	}
 	
-	/** @return whether or not the option specified is present */
+	/** @return whether or not the option specified, by name or alias (ignoring case), is present */
+	public boolean hasOption(String option) {
+		return this.options.has(option);
+	}
+	
+	/** @return the value which the option specified was given, for instance <strong>10</strong> for <strong>--limit=10</strong>, or null if it was not given one or is not present */
+	public String getOptionValue(String option) {
+		return this.options.getValue(option);
+	}
+	
+	/** 
+	 * @return whether or not the option specified is present
+	 * 
+	 * @see #hasOption(String)
+	 */
 	public boolean isOptionPresent(String option) {
-		return this.optionsPresent.contains(option);
+		return this.options.has(option);
 	}
 	
 	/** Equivalent to {@link MessageChannel#sendMessage(CharSequence)}, using the event's channel */
@@ -160,6 +207,51 @@ public class CommandEvent {
 		return this.getChannel().sendMessage(message);
 	}
 	
+	/** Queues the reply in the {@link CommandListener#getReplyQueue()}, if there is no reply queue it is sent directly */
+	public void queueReply(CharSequence text) {
+		ReplyQueue replyQueue = this.commandListener.getReplyQueue();
+		if(replyQueue != null) {
+			replyQueue.queue(this.getChannel(), text);
+		}else{
+			this.reply(text).queue();
+		}
+	}
+	
+	/** Queues the reply in the {@link CommandListener#getReplyQueue()}, if there is no reply queue it is sent directly */
+	public void queueReply(MessageEmbed embed) {
+		ReplyQueue replyQueue = this.commandListener.getReplyQueue();
+		if(replyQueue != null) {
+			replyQueue.queue(this.getChannel(), new MessageBuilder(embed).build());
+		}else{
+			this.reply(embed).queue();
+		}
+	}
+	
+	/** Queues the reply in the {@link CommandListener#getReplyQueue()}, if there is no reply queue it is sent directly */
+	public void queueReply(Message message) {
+		ReplyQueue replyQueue = this.commandListener.getReplyQueue();
+		if(replyQueue != null) {
+			replyQueue.queue(this.getChannel(), message);
+		}else{
+			this.reply(message).queue();
+		}
+	}
+	
+	/**
+	 * Queues a notice for the author in the {@link CommandListener#getReplyQueue()}, see {@link ReplyQueue#queueNotice(MessageChannel, String, long, CharSequence)},
+	 * if there is no reply queue it is sent directly
+	 * 
+	 * @param notice the type of the notice, for instance <b>cooldown</b>
+	 */
+	public void queueNotice(String notice, CharSequence text) {
+		ReplyQueue replyQueue = this.commandListener.getReplyQueue();
+		if(replyQueue != null) {
+			replyQueue.queueNotice(this.getChannel(), notice, this.getAuthor().getIdLong(), text);
+		}else{
+			this.reply(text).queue();
+		}
+	}
+	
 	/** Apply a cooldown to this command */
 	public ICooldown applyCooldown() {
 		return this.commandListener.getCoooldownManager().createCooldownAndGet(this.command, this.event);
@@ -149,19 +149,12 @@ public class CommandImpl implements ICommand {
 		}else if(parameter.isAnnotationPresent(Option.class)) {
 			Option option = parameter.getAnnotation(Option.class);
 			
-			return commandEvent.getOptionsPresent().stream().filter(opt -> {
-				if(opt.equalsIgnoreCase(option.option())) {
-					return true;
-				}
-				
-				for(String str : option.aliases()) {
-					if(opt.equalsIgnoreCase(str)) {
-						return true;
-					}
-				}
-				
-				return false;
-			}).count() > 0;
+			/* String parameters get the value of the option, for instance --limit=10 */
+			if(parameter.getType().equals(String.class)) {
+				return commandEvent.getOptionValue(option.option());
+			}
+			
+			return commandEvent.hasOption(option.option());
 		}
 		
 		return null;
@@ -242,7 +235,7 @@ public class CommandImpl implements ICommand {
 						if(parameter.isAnnotationPresent(Endless.class)) {
 							Endless info = parameter.getAnnotation(Endless.class);
 							
-							endlessBuilder.setMinArguments(info.minArguments()).setMaxArguments(info.maxArguments()).setEndless(info.endless());
+							endlessBuilder.setMinArguments(info.minArguments()).setMaxArguments(info.maxArguments()).setTokenLimit(info.tokenLimit()).setEndless(info.endless());
 						}
 						
 						IArgument<?> argument = endlessBuilder.build();
@@ -358,6 +351,9 @@ public class CommandImpl implements ICommand {
 	private Permission[] botDiscordPermissionsNeeded = {};
 	private Permission[] authorDiscordPermissionsNeeded = {};
 	
+	private long botDiscordPermissionsNeededRaw;
+	private long authorDiscordPermissionsNeededRaw;
+	
 	private boolean guildTriggerable = true;
 	private boolean privateTriggerable;
 	
@@ -371,10 +367,13 @@ public class CommandImpl implements ICommand {
 	private boolean nsfw = false;
 	
 	private boolean executeAsync;
+	private ExecutionOrder executionOrder = ExecutionOrder.UNORDERED;
 	
 	private long cooldownDuration = 0;
 	private Scope cooldownScope = Scope.USER;
 	
+	private ResultCache resultCache;
+	
 	private ICommand parent;
 	
 	private ICategory category;
@@ -394,6 +393,12 @@ public class CommandImpl implements ICommand {
 	
 	private boolean defaultGenerated = false;
 	
+	/* Cached since it is used every time help is shown, it is reset whenever the arguments change */
+	private String argumentInfo;
+	
+	/* Cached since it is used for every message, it is reset whenever the arguments, options or policies change */
+	private ParsePlan parsePlan;
+	
 	@SuppressWarnings("unchecked")
 	public CommandImpl(String command, boolean generateDefault, IArgument<?>... arguments) {
 		this.command = command;
@@ -533,6 +538,14 @@ public class CommandImpl implements ICommand {
 		return this.authorDiscordPermissionsNeeded;
 	}
 	
+	public long getBotDiscordPermissionsNeededRaw() {
+		return this.botDiscordPermissionsNeededRaw;
+	}
+	
+	public long getAuthorDiscordPermissionsNeededRaw() {
+		return this.authorDiscordPermissionsNeededRaw;
+	}
+	
 	public boolean isGuildTriggerable() {
 		return this.guildTriggerable;
 	}
@@ -569,10 +582,21 @@ public class CommandImpl implements ICommand {
 		return this.cooldownScope;
 	}
 	
+	/**
+	 * @return the cache for the results of this command or null if they are not cached
+	 */
+	public ResultCache getResultCache() {
+		return this.resultCache;
+	}
+	
 	public boolean isExecuteAsync() {
 		return this.executeAsync;
 	}
 	
+	public ExecutionOrder getExecutionOrder() {
+		return this.executionOrder;
+	}
+	
 	public ICommand getParent() {
 		return this.parent;
 	}
@@ -630,12 +654,14 @@ public class CommandImpl implements ICommand {
 	
 	public CommandImpl setBotDiscordPermissionsNeeded(Permission... permissions) {
 		this.botDiscordPermissionsNeeded = permissions;
+		this.botDiscordPermissionsNeededRaw = Permission.getRaw(permissions);
 		
 		return this;
 	}
 	
 	public CommandImpl setAuthorDiscordPermissionsNeeded(Permission... permissions) {
 		this.authorDiscordPermissionsNeeded = permissions;
+		this.authorDiscordPermissionsNeededRaw = Permission.getRaw(permissions);
 		
 		return this;
 	}
@@ -673,6 +699,8 @@ public class CommandImpl implements ICommand {
 	
 	public CommandImpl setArguments(IArgument<?>... arguments) {
 		this.arguments = arguments;
+		this.argumentInfo = null;
+		this.parsePlan = null;
 		this.dummyCommands = CommandImpl.generateDummyCommands(this);
 		
 		return this;
@@ -680,18 +708,21 @@ public class CommandImpl implements ICommand {
 	
 	public CommandImpl setOptions(IOption... options) {
 		this.options = options;
+		this.parsePlan = null;
 		
 		return this;
 	}
 	
 	public CommandImpl setOptionPolicy(InvalidOptionPolicy optionPolicy) {
 		this.optionPolicy = optionPolicy;
+		this.parsePlan = null;
 		
 		return this;
 	}
 	
 	public CommandImpl setContentOverflowPolicy(ContentOverflowPolicy overflowPolicy) {
 		this.overflowPolicy = overflowPolicy;
+		this.parsePlan = null;
 		
 		return this;
 	}
@@ -749,12 +780,32 @@ public class CommandImpl implements ICommand {
 		return this;
 	}
 	
+	/**
+	 * See {@link #getResultCache()}
+	 * 
+	 * @param resultCache the cache or null to not cache the results
+	 */
+	public CommandImpl setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+		
+		return this;
+	}
+	
 	public CommandImpl setExecuteAsync(boolean executeAsync) {
 		this.executeAsync = executeAsync;
 		
 		return this;
 	}
 	
+	/**
+	 * See {@link #getExecutionOrder()}
+	 */
+	public CommandImpl setExecutionOrder(ExecutionOrder executionOrder) {
+		this.executionOrder = executionOrder;
+		
+		return this;
+	}
+	
 	public CommandImpl setParent(ICommand parent) {
 		this.parent = parent;
 		
@@ -889,7 +940,7 @@ public class CommandImpl implements ICommand {
 	
 	public void execute(MessageReceivedEvent event, CommandEvent commandEvent, Object... args) throws Throwable {
 		if(!this.passive && this.commandMethods.size() == 1) {
-			MethodCommand.executeMethodCommand(this, this.commandMethods.get(0), event, commandEvent, args);
+			MethodCommand.executeMethodCommand(this.resultCache, this, this.commandMethods.get(0), event, commandEvent, args);
 		}
 	}
 	
@@ -935,6 +986,23 @@ public class CommandImpl implements ICommand {
 		return methods;
 	}
 	
+	public String getArgumentInfo() {
+		if(this.argumentInfo == null) {
+			this.argumentInfo = ICommand.super.getArgumentInfo();
+		}
+		
+		return this.argumentInfo;
+	}
+	
+	public ParsePlan getParsePlan() {
+		ParsePlan parsePlan = this.parsePlan;
+		if(parsePlan == null) {
+			this.parsePlan = parsePlan = new ParsePlan(this);
+		}
+		
+		return parsePlan;
+	}
+	
 	public String toString() {
 		return this.getCommand() + " " + this.getArgumentInfo();
 	}
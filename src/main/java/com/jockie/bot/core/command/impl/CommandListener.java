@@ -5,13 +5,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -20,7 +25,9 @@ import java.util.stream.Collectors;
 
 import com.jockie.bot.core.argument.IArgument;
 import com.jockie.bot.core.argument.IEndlessArgument;
+import com.jockie.bot.core.argument.ParseContext;
 import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
 import com.jockie.bot.core.command.ICommand;
 import com.jockie.bot.core.command.ICommand.ContentOverflowPolicy;
 import com.jockie.bot.core.command.ICommand.InvalidOptionPolicy;
@@ -31,23 +38,27 @@ import com.jockie.bot.core.command.exception.parser.InvalidArgumentCountExceptio
 import com.jockie.bot.core.command.exception.parser.MissingRequiredArgumentException;
 import com.jockie.bot.core.command.exception.parser.OutOfContentException;
 import com.jockie.bot.core.command.exception.parser.UnknownOptionException;
+import com.jockie.bot.core.command.impl.NotificationThrottle.Notice;
 import com.jockie.bot.core.cooldown.ICooldown;
 import com.jockie.bot.core.cooldown.ICooldownManager;
 import com.jockie.bot.core.cooldown.impl.CooldownManager;
-import com.jockie.bot.core.option.IOption;
+import com.jockie.bot.core.utility.SelfPermissionCache;
 import com.jockie.bot.core.utility.TriFunction;
 
 import net.dv8tion.jda.core.EmbedBuilder;
+import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.MessageBuilder;
 import net.dv8tion.jda.core.MessageBuilder.Formatting;
 import net.dv8tion.jda.core.Permission;
-import net.dv8tion.jda.core.entities.Member;
-import net.dv8tion.jda.core.entities.MessageChannel;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.MessageEmbed;
+import net.dv8tion.jda.core.entities.TextChannel;
 import net.dv8tion.jda.core.events.Event;
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.core.exceptions.PermissionException;
 import net.dv8tion.jda.core.hooks.EventListener;
 import net.dv8tion.jda.core.utils.Checks;
+import net.dv8tion.jda.core.utils.PermissionUtil;
 import net.dv8tion.jda.core.utils.tuple.Pair;
 
 public class CommandListener implements EventListener {
@@ -134,10 +145,117 @@ public class CommandListener implements EventListener {
 	
 	private Function<MessageReceivedEvent, String[]> prefixFunction;
 	
+	/* All the prefixes the prefix function can return, only used to create the prefix characters */
+	private String[] possiblePrefixes;
+	
+	/* 
+	 * A bit for every character a prefix starts with, this makes it possible to ignore most messages by only looking at their first character, 
+	 * null if any message could start with a prefix (if there is an empty prefix or if there is a prefix function without any possible prefixes)
+	 */
+	private volatile long[] prefixCharacters = CommandListener.createPrefixCharacters(this.defaultPrefixes, null, false);
+	
+	/* The mentions of the bot, with and without a nickname, which are created once instead of for every message */
+	private volatile SelfMention selfMention;
+	
 	private TriFunction<MessageReceivedEvent, String, List<Failure>, MessageBuilder> helperFunction;
 	
 	private boolean helpEnabled = true;
 	
+	private int helpCacheSize = 64;
+	
+	/* Least recently used help messages, see HelpKey */
+	private final Map<HelpKey, MessageEmbed> helpCache = new LinkedHashMap<HelpKey, MessageEmbed>(16, 0.75F, true) {
+		private static final long serialVersionUID = 1L;
+		
+		protected boolean removeEldestEntry(Map.Entry<HelpKey, MessageEmbed> eldest) {
+			return this.size() > CommandListener.this.helpCacheSize;
+		}
+	};
+	
+	/* Everything needed to continue parsing a message once its asynchronous arguments have been resolved */
+	private static class MessageParse {
+		
+		private final MessageReceivedEvent event;
+		private final ParseContext context;
+		
+		private final String prefix, message;
+		
+		private final List<Pair<String, ICommand>> commands;
+		private final List<Failure> failures;
+		
+		private final long started;
+		
+		/* Commands are only verified once they match the message, the result is remembered for the rest of the message */
+		private final Map<ICommand, Boolean> verified;
+		
+		/* 
+		 * The commands which were skipped because of their token count, these are only parsed if no other command matches 
+		 * so that the help gets the same failures as it would have if they had not been skipped, null if none were skipped
+		 */
+		private List<Pair<String, ICommand>> skipped;
+		
+		/* The parse which skipped the commands of this one or null if this is not parsing skipped commands */
+		private final MessageParse skippedFrom;
+		
+		private MessageParse(MessageReceivedEvent event, ParseContext context, String prefix, String message, List<Pair<String, ICommand>> commands, List<Failure> failures, long started) {
+			this.event = event;
+			this.context = context;
+			this.prefix = prefix;
+			this.message = message;
+			this.commands = commands;
+			this.failures = failures;
+			this.started = started;
+			this.verified = new IdentityHashMap<>();
+			this.skippedFrom = null;
+		}
+		
+		/* Parses the commands which were skipped by the parse */
+		private MessageParse(MessageParse parse) {
+			this.event = parse.event;
+			this.context = parse.context;
+			this.prefix = parse.prefix;
+			this.message = parse.message;
+			this.commands = parse.skipped;
+			this.failures = new ArrayList<>(parse.skipped.size());
+			this.started = parse.started;
+			this.verified = parse.verified;
+			this.skippedFrom = parse;
+		}
+	}
+	
+	private static class SelfMention {
+		
+		private final long id;
+		
+		private final String mention, nicknameMention;
+		
+		private SelfMention(long id) {
+			this.id = id;
+			this.mention = "<@" + id + "> ";
+			this.nicknameMention = "<@!" + id + "> ";
+		}
+	}
+	
+	private static class PendingArgument {
+		
+		private final int index;
+		
+		private final String content;
+		
+		private final CompletableFuture<? extends VerifiedArgument<?>> future;
+		
+		private PendingArgument(int index, String content, CompletableFuture<? extends VerifiedArgument<?>> future) {
+			this.index = index;
+			this.content = content;
+			this.future = future;
+		}
+	}
+	
+	/* Stands in for an argument which has not been resolved yet, the object is set once it has */
+	private static final VerifiedArgument<?> PENDING_ARGUMENT = new VerifiedArgument<>(VerifiedType.VALID, null);
+	
+	private boolean asyncArguments = false;
+	
 	public static final BiConsumer<CommandEvent, List<Permission>> DEFAULT_MISSING_PERMISSION_FUNCTION = (event, permissions) -> {
 		StringBuilder missingPermissions = new StringBuilder();
 		for(Permission permission : permissions) {
@@ -154,14 +272,12 @@ public class CommandListener implements EventListener {
 			.append(missingPermissions)
 			.append("```");
 		
-		MessageChannel channel;
+		/* Queued instead of completed so that the thread handling the event is never blocked */
 		if(!event.getGuild().getSelfMember().hasPermission(event.getTextChannel(), Permission.MESSAGE_WRITE)) {
-			channel = event.getAuthor().openPrivateChannel().complete();
+			event.getAuthor().openPrivateChannel().queue(channel -> channel.sendMessage(message).queue());
 		}else{
-			channel = event.getChannel();
+			event.queueNotice("permission", message);
 		}
-		
-		channel.sendMessage(message).queue();
 	};
 	
 	public static final BiConsumer<CommandEvent, Permission> DEFAULT_MISSING_PERMISSION_EXCEPTION_FUNCTION = (event, permission) -> {
@@ -186,7 +302,7 @@ public class CommandListener implements EventListener {
 		
 		message.append(" permission" + (permissions.size() == 1 ? "" : "s") + " to execute that command");
 		
-		event.reply(message).queue();
+		event.queueNotice("author permission", message);
 	};
 	
 	private BiConsumer<CommandEvent, Permission> missingPermissionExceptionFunction = DEFAULT_MISSING_PERMISSION_EXCEPTION_FUNCTION;
@@ -194,17 +310,20 @@ public class CommandListener implements EventListener {
 	private BiConsumer<CommandEvent, List<Permission>> missingAuthorPermissionFunction = DEFAULT_MISSING_AUTHOR_PERMISSION_FUNCTION;
 	
 	public static final BiConsumer<CommandEvent, ICooldown> DEFAULT_COOLDOWN_FUNCTION = (event, cooldown) -> {
-		event.reply("Slow down, try again in " + ((double) cooldown.getTimeRemainingMillis()/1000) + " seconds").queue();
+		event.queueNotice("cooldown", "Slow down, try again in " + ((double) cooldown.getTimeRemainingMillis()/1000) + " seconds");
 	};
 	
 	private BiConsumer<CommandEvent, ICooldown> cooldownFunction = DEFAULT_COOLDOWN_FUNCTION;
 	
 	public static final Consumer<CommandEvent> DEFAULT_NSFW_FUNCTION = (event) -> {
-		event.reply("NSFW commands are not allowed in non-NSFW channels!").queue();
+		event.queueNotice("nsfw", "NSFW commands are not allowed in non-NSFW channels!");
 	};
 	
 	private Consumer<CommandEvent> nsfwFunction = DEFAULT_NSFW_FUNCTION;
 	
+	/* Null by default, rejected commands are dropped without a reply */
+	private Consumer<CommandEvent> rejectedFunction;
+	
 	private Set<Long> developers = new HashSet<>();
 	
 	private List<CommandStore> commandStores = new ArrayList<>();
@@ -213,10 +332,22 @@ public class CommandListener implements EventListener {
 	
 	private ExecutorService commandExecutor = Executors.newCachedThreadPool();
 	
+	private FairScheduler commandScheduler;
+	
+	private OrderedExecutor orderedExecutor = new OrderedExecutor();
+	
 	private ICooldownManager cooldownManager = new CooldownManager();
 	
+	private ReplyQueue replyQueue;
+	
+	private NotificationThrottle notificationThrottle;
+	
 	private List<Predicate<MessageReceivedEvent>> preParseChecks = new ArrayList<>();
 	
+	private AdmissionFilter admissionFilter;
+	
+	private SelfPermissionCache permissionCache = new SelfPermissionCache();
+	
 	public CommandListener addCommandEventListener(CommandEventListener... commandEventListeners) {
 		for(CommandEventListener commandEventListener : commandEventListeners) {
 			if(!this.commandEventListeners.contains(commandEventListener)) {
@@ -302,6 +433,8 @@ public class CommandListener implements EventListener {
 			}
 		}
 		
+		this.clearHelpCache();
+		
 		return this;
 	}
 	
@@ -313,6 +446,8 @@ public class CommandListener implements EventListener {
 			this.commandStores.remove(commandStore);
 		}
 		
+		this.clearHelpCache();
+		
 		return this;
 	}
 	
@@ -337,6 +472,7 @@ public class CommandListener implements EventListener {
 		Arrays.sort(prefixes, (a, b) -> Integer.compare(b.length(), a.length()));
 		
 		this.defaultPrefixes = prefixes;
+		this.prefixCharacters = CommandListener.createPrefixCharacters(this.defaultPrefixes, this.possiblePrefixes, this.prefixFunction != null);
 		
 		return this;
 	}
@@ -403,10 +539,93 @@ public class CommandListener implements EventListener {
 		Checks.notNull(function, "Function");
 		
 		this.prefixFunction = function;
+		this.prefixCharacters = CommandListener.createPrefixCharacters(this.defaultPrefixes, this.possiblePrefixes, true);
+		
+		return this;
+	}
+	
+	/**
+	 * Messages which do not start with the first character of any of the prefixes are ignored without doing anything else,
+	 * when a prefix function is set this can not be done unless all the prefixes it can return are known
+	 * 
+	 * @param prefixes all the prefixes the function set through {@link #setPrefixesFunction(Function)} can return, 
+	 * only the first character of each is used so any prefix starting with the same character works as well, null if they are not known
+	 */
+	public CommandListener setPossiblePrefixes(String... prefixes) {
+		this.possiblePrefixes = prefixes;
+		this.prefixCharacters = CommandListener.createPrefixCharacters(this.defaultPrefixes, this.possiblePrefixes, this.prefixFunction != null);
 		
 		return this;
 	}
 	
+	/**
+	 * @return all the prefixes the function set through {@link #setPrefixesFunction(Function)} can return, null if they are not known
+	 * 
+	 * @see #setPossiblePrefixes(String...)
+	 */
+	public String[] getPossiblePrefixes() {
+		return this.possiblePrefixes;
+	}
+	
+	private static long[] createPrefixCharacters(String[] defaultPrefixes, String[] possiblePrefixes, boolean function) {
+		if(function && possiblePrefixes == null) {
+			return null;
+		}
+		
+		long[] characters = new long[(Character.MAX_VALUE + 1) >>> 6];
+		
+		/* The mention of the bot is always a prefix */
+		characters['<' >>> 6] |= 1L << '<';
+		
+		/* The default prefixes are used when the prefix function does not return anything */
+		for(String[] prefixes : new String[][] { defaultPrefixes, possiblePrefixes }) {
+			if(prefixes == null) {
+				continue;
+			}
+			
+			for(String prefix : prefixes) {
+				if(prefix.length() == 0) {
+					return null;
+				}
+				
+				char character = prefix.charAt(0);
+				characters[character >>> 6] |= 1L << character;
+			}
+		}
+		
+		return characters;
+	}
+	
+	/**
+	 * @return whether or not the message could start with a prefix, this only looks at the first character of the message
+	 * and is used to ignore messages which can not be commands as quickly as possible
+	 */
+	public boolean isPossibleCommand(String message) {
+		long[] characters = this.prefixCharacters;
+		if(characters == null) {
+			return true;
+		}
+		
+		if(message.length() == 0) {
+			return false;
+		}
+		
+		char character = message.charAt(0);
+		
+		return (characters[character >>> 6] & (1L << character)) != 0;
+	}
+	
+	private SelfMention getSelfMention(JDA jda) {
+		SelfMention selfMention = this.selfMention;
+		
+		long id = jda.getSelfUser().getIdLong();
+		if(selfMention == null || selfMention.id != id) {
+			this.selfMention = selfMention = new SelfMention(id);
+		}
+		
+		return selfMention;
+	}
+	
 	/**
 	 * @param event the context of the message
 	 * 
@@ -456,6 +675,29 @@ public class CommandListener implements EventListener {
 		return this.helpEnabled;
 	}
 	
+	/**
+	 * See {@link #isAsyncArguments()}
+	 */
+	public CommandListener setAsyncArguments(boolean asyncArguments) {
+		this.asyncArguments = asyncArguments;
+		
+		return this;
+	}
+	
+	/**
+	 * Whether or not arguments should be parsed asynchronously, if they are arguments which have to wait for something 
+	 * (such as a user which has to be retrieved) do not block the thread handling the event and the arguments of a command are resolved at the same time, 
+	 * see {@link com.jockie.bot.core.argument.impl.parser.IArgumentParser#parseAsync(ParseContext, IArgument, String) IArgumentParser#parseAsync}.
+	 * </br></br>
+	 * An asynchronous argument can not end the parse early (VALID_END_NOW) since the rest of the content has already been parsed by the time it has been resolved.
+	 * </br></br>
+	 * When a command has to wait for an argument the rest of the parse continues on a thread of the command executor once it has been resolved, 
+	 * this means that a command which is not {@link ICommand#isExecuteAsync()} is run on that thread instead of the thread handling the event
+	 */
+	public boolean isAsyncArguments() {
+		return this.asyncArguments;
+	}
+	
 	/**
 	 * @param consumer
 	 * The function which will be called when the command failed due to missing permission 
@@ -526,6 +768,20 @@ public class CommandListener implements EventListener {
 		return this;
 	}
 	
+	/**
+	 * @param consumer
+	 * The function which will be called if a command is not executed because the {@link #getCommandScheduler()} rejected it, 
+	 * for instance because the guild already has too many commands waiting, by default these commands are dropped without a reply
+	 * </br></br>
+	 * <b>Parameter type definitions:</b>
+	 * </br><b>CommandEvent</b> - The command which was triggered's event
+	 */
+	public CommandListener setRejectedFunction(Consumer<CommandEvent> consumer) {
+		this.rejectedFunction = consumer;
+		
+		return this;
+	}
+	
 	/**
 	 * @param function the function that will be called when a command had the wrong arguments.
 	 * </br></br>
@@ -551,34 +807,111 @@ public class CommandListener implements EventListener {
 			}
 		}
 		
-		List<ICommand> commands = failures.stream()
-			.map(failure -> {
-				ICommand command = failure.getCommand();
-				if(command instanceof DummyCommand) {
-					return command.getParent();
-				}
-				
-				return command;
-			})
-			.distinct()
-			.collect(Collectors.toList());
+		List<ICommand> commands = new ArrayList<>();
+		for(Failure failure : failures) {
+			ICommand command = failure.getCommand();
+			if(command instanceof DummyCommand) {
+				command = command.getParent();
+			}
+			
+			if(!commands.contains(command)) {
+				commands.add(command);
+			}
+		}
+		
+		String avatarUrl = event.getJDA().getSelfUser().getEffectiveAvatarUrl();
+		
+		HelpKey key = new HelpKey(commands, avatarUrl);
+		
+		MessageEmbed embed;
+		synchronized(this.helpCache) {
+			embed = this.helpCache.get(key);
+		}
 		
-		StringBuilder description = new StringBuilder();
-		for(int i = 0; i < commands.size(); i++) {
-			ICommand command = commands.get(i);
+		if(embed == null) {
+			StringBuilder description = new StringBuilder();
+			for(int i = 0; i < commands.size(); i++) {
+				ICommand command = commands.get(i);
+				
+				description.append(command.getCommandTrigger())
+					.append(" ")
+					.append(command.getArgumentInfo());
+				
+				if(i < commands.size() - 1) {
+					description.append("\n");
+				}
+			}
 			
-			description.append(command.getCommandTrigger())
-				.append(" ")
-				.append(command.getArgumentInfo());
+			embed = new EmbedBuilder().setDescription(description.toString())
+				.setFooter("* means required. [] means multiple arguments of that type.", null)
+				.setAuthor("Help", null, avatarUrl).build();
 			
-			if(i < failures.size() - 1) {
-				description.append("\n");
+			if(this.helpCacheSize > 0) {
+				synchronized(this.helpCache) {
+					this.helpCache.put(key, embed);
+				}
 			}
 		}
 		
-		return new MessageBuilder().setEmbed(new EmbedBuilder().setDescription(description.toString())
-			.setFooter("* means required. [] means multiple arguments of that type.", null)
-			.setAuthor("Help", null, event.getJDA().getSelfUser().getEffectiveAvatarUrl()).build());
+		return new MessageBuilder().setEmbed(embed);
+	}
+	
+	/**
+	 * @param size the maximum amount of rendered help messages which should be cached,
+	 * each cached message is bound to the set of commands it was rendered for, 0 disables the cache
+	 */
+	public CommandListener setHelpCacheSize(int size) {
+		this.helpCacheSize = size;
+		
+		this.clearHelpCache();
+		
+		return this;
+	}
+	
+	public int getHelpCacheSize() {
+		return this.helpCacheSize;
+	}
+	
+	/**
+	 * Clears all the cached help messages, this should be called if a command is modified after it has been registered
+	 * (this is done automatically when adding or removing a {@link CommandStore})
+	 */
+	public CommandListener clearHelpCache() {
+		synchronized(this.helpCache) {
+			this.helpCache.clear();
+		}
+		
+		return this;
+	}
+	
+	/* The commands a help message was rendered for, in the order they were rendered, and the avatar of the bot it was rendered for */
+	private static class HelpKey {
+		
+		private final ICommand[] commands;
+		
+		private final String avatarUrl;
+		
+		private final int hash;
+		
+		private HelpKey(List<ICommand> commands, String avatarUrl) {
+			this.commands = commands.toArray(new ICommand[0]);
+			this.avatarUrl = avatarUrl;
+			this.hash = 31 * Arrays.hashCode(this.commands) + Objects.hashCode(avatarUrl);
+		}
+		
+		public int hashCode() {
+			return this.hash;
+		}
+		
+		public boolean equals(Object object) {
+			if(!(object instanceof HelpKey)) {
+				return false;
+			}
+			
+			HelpKey key = (HelpKey) object;
+			
+			return this.hash == key.hash && Arrays.equals(this.commands, key.commands) && Objects.equals(this.avatarUrl, key.avatarUrl);
+		}
 	}
 	
 	/**
@@ -620,34 +953,269 @@ public class CommandListener implements EventListener {
 		return Collections.unmodifiableList(this.preParseChecks);
 	}
 	
+	/**
+	 * Sets the admission filter, this is checked before the pre-parse checks and should be used instead of them for blacklists
+	 * as it does not have to box the ids for every message
+	 * 
+	 * @param admissionFilter the admission filter or null to not use one
+	 */
+	public CommandListener setAdmissionFilter(AdmissionFilter admissionFilter) {
+		this.admissionFilter = admissionFilter;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the admission filter or null if there is none
+	 */
+	public AdmissionFilter getAdmissionFilter() {
+		return this.admissionFilter;
+	}
+	
+	/**
+	 * Sets the scheduler for asynchronous commands ({@link ICommand#isExecuteAsync()}), when set the commands are run through it
+	 * instead of being submitted directly to the command executor, see {@link FairScheduler}
+	 * 
+	 * @param commandScheduler the scheduler or null to submit the commands directly
+	 */
+	public CommandListener setCommandScheduler(FairScheduler commandScheduler) {
+		this.commandScheduler = commandScheduler;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the scheduler for asynchronous commands or null if they are submitted directly to the command executor
+	 */
+	public FairScheduler getCommandScheduler() {
+		return this.commandScheduler;
+	}
+	
+	/**
+	 * Sets the reply queue, when set the default functions, the help message and the results of command methods are sent through it
+	 * which limits how many messages are sent to the same channel at once, see {@link ReplyQueue}
+	 * 
+	 * @param replyQueue the reply queue or null to send replies directly
+	 */
+	public CommandListener setReplyQueue(ReplyQueue replyQueue) {
+		this.replyQueue = replyQueue;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the reply queue or null if replies are sent directly
+	 */
+	public ReplyQueue getReplyQueue() {
+		return this.replyQueue;
+	}
+	
+	/**
+	 * Sets the notification throttle, this keeps the cooldown, NSFW, missing permission and help notices from being sent
+	 * to the same user for the same command more than once within its window, there is no notification throttle by default
+	 * 
+	 * @param notificationThrottle the notification throttle or null to send every notice
+	 */
+	public CommandListener setNotificationThrottle(NotificationThrottle notificationThrottle) {
+		this.notificationThrottle = notificationThrottle;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the notification throttle or null if every notice is sent
+	 */
+	public NotificationThrottle getNotificationThrottle() {
+		return this.notificationThrottle;
+	}
+	
+	private boolean shouldNotify(MessageReceivedEvent event, ICommand command, Notice notice) {
+		NotificationThrottle notificationThrottle = this.notificationThrottle;
+		if(notificationThrottle == null) {
+			return true;
+		}
+		
+		return notificationThrottle.tryNotify(event.getAuthor().getIdLong(), (command instanceof DummyCommand) ? command.getParent() : command, notice);
+	}
+	
+	/**
+	 * Sets the cache used for the permissions of the bot, the events this listener receives are passed on to it
+	 * 
+	 * @param permissionCache the permission cache or null to get the permissions from JDA every time
+	 */
+	public CommandListener setPermissionCache(SelfPermissionCache permissionCache) {
+		this.permissionCache = permissionCache;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the cache used for the permissions of the bot or null if there is none
+	 */
+	public SelfPermissionCache getPermissionCache() {
+		return this.permissionCache;
+	}
+	
+	private long getSelfPermissions(TextChannel channel) {
+		SelfPermissionCache permissionCache = this.permissionCache;
+		if(permissionCache != null) {
+			return permissionCache.getPermissions(channel);
+		}
+		
+		return PermissionUtil.getEffectivePermission(channel, channel.getGuild().getSelfMember());
+	}
+	
 	public void onEvent(Event event) {
 		if(event instanceof MessageReceivedEvent) {
 			this.onMessageReceived((MessageReceivedEvent) event);
+		}else{
+			SelfPermissionCache permissionCache = this.permissionCache;
+			if(permissionCache != null) {
+				permissionCache.onEvent(event);
+			}
 		}
 	}
 	
 	public static class Failure {
 		
-		private ICommand command;
+		/**
+		 * A compact description of why a command did not match,
+		 * the exception ({@link Failure#getReason()}) is only created from this when it is actually requested
+		 */
+		public enum Type {
+			/** See {@link UnknownOptionException} */
+			UNKNOWN_OPTION,
+			/** See {@link ArgumentParseException} */
+			ARGUMENT_PARSE,
+			/** See {@link MissingRequiredArgumentException} */
+			MISSING_REQUIRED_ARGUMENT,
+			/** See {@link OutOfContentException} */
+			OUT_OF_CONTENT,
+			/** See {@link ContentOverflowException} */
+			CONTENT_OVERFLOW,
+			/** See {@link InvalidArgumentCountException} */
+			INVALID_ARGUMENT_COUNT,
+			/** The reason was provided as an already created {@link Throwable} */
+			OTHER;
+		}
+		
+		private final ICommand command;
+		
+		private final Type type;
+		
+		/* -1 if the failure was not caused by a specific argument */
+		private final int argumentIndex;
+		
+		private final String value;
+		
+		/* Only used by INVALID_ARGUMENT_COUNT, the array is shared with the parser so only the first parsedCount elements are valid */
+		private final Object[] parsedArguments;
+		private final int parsedCount;
 		
 		private Throwable reason;
 		
 		public Failure(ICommand command, Throwable reason) {
-			this.command = command;
+			this(command, Type.OTHER, -1, null, null, 0);
+			
 			this.reason = reason;
 		}
 		
+		private Failure(ICommand command, Type type, int argumentIndex, String value, Object[] parsedArguments, int parsedCount) {
+			this.command = command;
+			this.type = type;
+			this.argumentIndex = argumentIndex;
+			this.value = value;
+			this.parsedArguments = parsedArguments;
+			this.parsedCount = parsedCount;
+		}
+		
+		static Failure of(ICommand command, Type type, int argumentIndex, String value) {
+			return new Failure(command, type, argumentIndex, value, null, 0);
+		}
+		
+		static Failure ofArgumentCount(ICommand command, Object[] parsedArguments, int parsedCount) {
+			return new Failure(command, Type.INVALID_ARGUMENT_COUNT, -1, null, parsedArguments, parsedCount);
+		}
+		
 		public ICommand getCommand() {
 			return this.command;
 		}
 		
+		/**
+		 * @return the type of failure, this can be used to check what went wrong without creating the exception from {@link #getReason()}
+		 */
+		public Type getType() {
+			return this.type;
+		}
+		
+		/**
+		 * @return the index of the argument which caused the failure or -1 if it was not caused by a specific argument
+		 */
+		public int getArgumentIndex() {
+			return this.argumentIndex;
+		}
+		
+		/**
+		 * @return the content which caused the failure, this may be null
+		 */
+		public String getValue() {
+			return this.value;
+		}
+		
+		/**
+		 * @return the exception describing this failure, it is created the first time this is called
+		 */
 		public Throwable getReason() {
+			if(this.reason == null) {
+				this.reason = this.createReason();
+			}
+			
 			return this.reason;
 		}
+		
+		private Throwable createReason() {
+			IArgument<?> argument = (this.argumentIndex != -1) ? this.command.getArguments()[this.argumentIndex] : null;
+			
+			switch(this.type) {
+				case UNKNOWN_OPTION: return new UnknownOptionException(this.value);
+				case ARGUMENT_PARSE: return new ArgumentParseException(argument, this.value, this.value + " is not valid for argument " + (argument != null ? argument.getName() : null));
+				case MISSING_REQUIRED_ARGUMENT: return new MissingRequiredArgumentException(argument);
+				case OUT_OF_CONTENT: return new OutOfContentException(argument);
+				case CONTENT_OVERFLOW: return new ContentOverflowException(this.value);
+				case INVALID_ARGUMENT_COUNT: return new InvalidArgumentCountException(this.command.getArguments(), (this.parsedArguments != null) ? Arrays.copyOf(this.parsedArguments, this.parsedCount) : new Object[0]);
+				default: return null;
+			}
+		}
 	}
 	
-	/* Would it be possible to split this event in to different steps, opinions? */
-	public void onMessageReceived(MessageReceivedEvent event) {
+	/* Every skipped command adds exactly one failure, in the same order as they were skipped */
+	private static List<Failure> mergeSkipped(List<Failure> failures, List<Failure> skippedFailures) {
+		int next = 0;
+		for(int i = 0; i < failures.size(); i++) {
+			if(failures.get(i) == null && next < skippedFailures.size()) {
+				failures.set(i, skippedFailures.get(next++));
+			}
+		}
+		
+		failures.removeIf(Objects::isNull);
+		
+		return failures;
+	}
+	
+	/* Would it be possible to split this event in to different steps, opinions? */
+	public void onMessageReceived(MessageReceivedEvent event) {
+		String message = event.getMessage().getContentRaw(), prefix = null;
+		
+		/* Most messages are not commands, this gets rid of them before anything else is done */
+		if(!this.isPossibleCommand(message)) {
+			return;
+		}
+		
+		AdmissionFilter admissionFilter = this.admissionFilter;
+		if(admissionFilter != null && !admissionFilter.isAllowed(event)) {
+			return;
+		}
+		
 		for(Predicate<MessageReceivedEvent> predicate : this.preParseChecks) {
 			try {
 				if(!predicate.test(event)) {
@@ -658,10 +1226,10 @@ public class CommandListener implements EventListener {
 		
 		String[] prefixes = this.getPrefixes(event);
 		
-		String message = event.getMessage().getContentRaw(), prefix = null;
+		SelfMention selfMention = this.getSelfMention(event.getJDA());
 		
 		/* Needs to work for both non-nicked mention and nicked mention */
-		if(message.startsWith("<@" + event.getJDA().getSelfUser().getId() + "> ") || message.startsWith("<@!" + event.getJDA().getSelfUser().getId() + "> ")) {
+		if(message.startsWith(selfMention.mention) || message.startsWith(selfMention.nicknameMention)) {
 			/* I want every bot to have this feature therefore it will be a hard coded one, arguments against it? */
 			prefix = message.substring(0, message.indexOf(" ") + 1);
 			
@@ -689,356 +1257,585 @@ public class CommandListener implements EventListener {
 			
 			message = message.substring(prefix.length());
 			
-			List<Failure> possibleCommands = new ArrayList<>();
+			/* Failures are only kept if they are going to be used for a help message */
+			List<Failure> possibleCommands = this.helpEnabled ? new ArrayList<>() : null;
+			
+			/* Shared by every command tried for this message, the verified object is copied out of its result straight away */
+			ParseContext context = new ParseContext(event);
 			
 			List<Pair<String, ICommand>> commands = this.getCommandStores().stream()
 				.map(CommandStore::getCommands)
 				.flatMap(Set::stream)
 				.map(command -> command.getAllCommandsRecursiveWithTriggers(event, ""))
 				.flatMap(List::stream)
-				.filter(pair -> pair.getRight().verify(event, this))
 				.filter(pair -> !pair.getRight().isPassive())
 				.sorted(CommandListener.COMMAND_COMPARATOR)
 				.collect(Collectors.toList());
 			
-			COMMANDS :
-			for(Pair<String, ICommand> pair : commands) {
-				ICommand command = pair.getRight();
+			this.parse(new MessageParse(event, context, prefix, message, commands, possibleCommands, commandStarted), 0);
+		}
+	}
+	
+	/* 
+	 * Dummy commands are verified by their parent so they share the result with it, 
+	 * this way custom verifications are only run for commands which match the message and only once per command
+	 */
+	private boolean verify(MessageParse parse, ICommand command) {
+		ICommand verifying = (command instanceof DummyCommand) ? command.getParent() : command;
+		
+		Boolean verified = parse.verified.get(verifying);
+		if(verified == null) {
+			verified = verifying.verify(parse.event, this);
+			
+			parse.verified.put(verifying, verified);
+		}
+		
+		return verified;
+	}
+	
+	/* Tries the commands starting at the index, this is continued from the next command if an asynchronous argument turns out to be invalid */
+	private void parse(MessageParse parse, int start) {
+		MessageReceivedEvent event = parse.event;
+		ParseContext context = parse.context;
+		
+		String prefix = parse.prefix, message = parse.message;
+		
+		List<Pair<String, ICommand>> commands = parse.commands;
+		List<Failure> possibleCommands = parse.failures;
+		
+		long commandStarted = parse.started;
+		
+		COMMANDS :
+		for(int index = start; index < commands.size(); index++) {
+			Pair<String, ICommand> pair = commands.get(index);
+			
+			ICommand command = pair.getRight();
+			
+			String msg, cmd = pair.getLeft();
+			
+			if(!message.regionMatches(!command.isCaseSensitive(), 0, cmd, 0, cmd.length())) {
+				continue COMMANDS;
+			}
+			
+			msg = message.substring(cmd.length());
+			
+			if(msg.length() > 0 && msg.charAt(0) != ' ') {
+				/* Can it even get to this? */
 				
-				String msg = message, cmd = pair.getLeft();
+				continue COMMANDS;
+			}
+			
+			if(!this.verify(parse, command)) {
+				continue COMMANDS;
+			}
+			
+			ParsePlan plan = command.getParsePlan();
+			
+			int argumentCount = 0;
+			
+			IArgument<?>[] args = plan.getArguments();
+			
+			boolean developer = this.isDeveloper(event.getAuthor().getIdLong());
+			
+			InvalidOptionPolicy optionPolicy = plan.getInvalidOptionPolicy();
+			
+			/* Pre-processing, the options are removed from the content in a single pass and only copied if there are any */
+			StringBuilder builder = null;
+			int copied = 0;
+			
+			OptionSet options = new OptionSet(plan);
+			for(int i = 0; i < msg.length(); i++) {
+				if(msg.charAt(i) != ' ' || msg.length() - i <= 3 || msg.charAt(i + 1) != '-' || msg.charAt(i + 2) != '-' || msg.charAt(i + 3) == ' ') {
+					continue;
+				}
 				
-				if(!command.isCaseSensitive()) {
-					msg = msg.toLowerCase();
-					cmd = cmd.toLowerCase();
+				int nameStart = i + 3, end = msg.indexOf(' ', nameStart);
+				if(end == -1) {
+					end = msg.length();
 				}
 				
-				if(!msg.startsWith(cmd)) {
-					continue COMMANDS;
+				/* Options can have a value, --limit=10 */
+				int nameEnd = end;
+				for(int j = nameStart + 1; j < end; j++) {
+					if(msg.charAt(j) == '=') {
+						nameEnd = j;
+						
+						break;
+					}
 				}
 				
-				msg = message.substring(cmd.length());
+				String value = (nameEnd != end) ? msg.substring(nameEnd + 1, end) : null;
 				
-				if(msg.length() > 0 && msg.charAt(0) != ' ') {
-					/* Can it even get to this? */
+				int optionIndex = plan.getOptionIndex(msg, nameStart, nameEnd, developer);
+				if(optionIndex != -1) {
+					options.add(optionIndex, value);
+				}else if(optionPolicy.equals(InvalidOptionPolicy.ADD)) {
+					options.addUnknown(msg.substring(nameStart, nameEnd), value);
+				}else if(optionPolicy.equals(InvalidOptionPolicy.FAIL)) {
+					/* The specified option does not exist */
+					if(possibleCommands != null) {
+						possibleCommands.add(Failure.of(command, Failure.Type.UNKNOWN_OPTION, -1, msg.substring(nameStart, end).toLowerCase()));
+					}
 					
 					continue COMMANDS;
+				}else if(!optionPolicy.equals(InvalidOptionPolicy.IGNORE)) {
+					/* InvalidOptionPolicy.INCLUDE, the option is kept as content */
+					continue;
 				}
 				
-				int argumentCount = 0;
-				
-				Object[] arguments = new Object[command.getArguments().length];
-				
-				IArgument<?>[] args = command.getArguments();
+				if(builder == null) {
+					builder = new StringBuilder(msg.length());
+				}
 				
-				boolean developer = this.isDeveloper(event.getAuthor().getIdLong());
+				builder.append(msg, copied, i);
+				copied = end;
 				
-				/* Creates a map of all the options which can be used by this user */
-				Map<String, IOption> optionMap = new HashMap<>();
-				for(IOption option : command.getOptions()) {
-					if(option.isDeveloperOption() && !developer) {
-						continue;
-					}
-						
-					optionMap.put(option.getName(), option);
-					for(String alias : option.getAliases()) {
-						optionMap.put(alias, option);
+				i = end - 1;
+			}
+			
+			if(builder != null) {
+				msg = builder.append(msg, copied, msg.length()).toString();
+			}
+			
+			/* End pre-processing */
+			
+			/* The content can not possibly be parsed in to the arguments of this command */
+			if(parse.skippedFrom == null && !plan.isTokenCountValid(msg)) {
+				if(possibleCommands != null) {
+					if(parse.skipped == null) {
+						parse.skipped = new ArrayList<>();
 					}
+					
+					parse.skipped.add(pair);
+					
+					/* Replaced by the failure of the command if none of the other commands match */
+					possibleCommands.add(null);
 				}
 				
-				/* Pre-processing */
-				StringBuilder builder = new StringBuilder();
+				continue COMMANDS;
+			}
+			
+			Object[] arguments = new Object[args.length];
+			
+			/* Asynchronous arguments which have not been resolved yet, null if arguments are not parsed asynchronously */
+			List<PendingArgument> pending = this.asyncArguments ? new ArrayList<>(0) : null;
+			
+			/* Handle command as key-value */
+			if(CommandListener.parseKeyValue(msg, null, null)) {
+				String[] values = new String[args.length];
+				CommandListener.parseKeyValue(msg, plan, values);
 				
-				List<String> options = new ArrayList<>();
-				for(int i = 0; i < msg.length(); i++) {
-					if(msg.charAt(i) == ' ' && msg.length() - i > 3 && (msg.charAt(i + 1) == '-' && msg.charAt(i + 2) == '-') && msg.charAt(i + 3) != ' ') {
-						String optionStr = msg.substring(i + 1);
-						optionStr = optionStr.substring(2, (optionStr.contains(" ")) ? optionStr.indexOf(" ") : optionStr.length()).toLowerCase();
-						
-						IOption option = optionMap.get(optionStr);
-						if(option != null) {
-							options.add(optionStr);
-							
-							i += (optionStr.length() + 2);
-							
-							continue;
-						}else{
-							if(command.getInvalidOptionPolicy().equals(InvalidOptionPolicy.ADD)) {
-								options.add(optionStr);
-								
-								i += (optionStr.length() + 2);
-								
-								continue;
-							}else if(command.getInvalidOptionPolicy().equals(InvalidOptionPolicy.IGNORE)) {
-								i += (optionStr.length() + 2);
-								
-								continue;
-							}else if(command.getInvalidOptionPolicy().equals(InvalidOptionPolicy.FAIL)) {
-								/* The specified option does not exist */
-								possibleCommands.add(new Failure(command, new UnknownOptionException(optionStr)));
+				for(int i = 0; i < args.length; i++) {
+					IArgument<?> argument = args[i];
+					
+					String value = values[i];
+					if(value != null) {
+						VerifiedArgument<?> verified = this.verify(context, argument, value, i, pending);
+						switch(verified.getVerifiedType()) {
+							case INVALID: {
+								/* The content does not make for a valid argument */
+								if(possibleCommands != null) {
+									possibleCommands.add(Failure.of(command, Failure.Type.ARGUMENT_PARSE, i, value));
+								}
 								
 								continue COMMANDS;
 							}
+							case VALID:
+							case VALID_END_NOW: {
+								arguments[argumentCount++] = verified.getObject();
+								
+								break;
+							}
 						}
+						
+						arguments[i] = verified.getObject();
+					}else{
+						/* Missing argument */
+						if(possibleCommands != null) {
+							possibleCommands.add(Failure.of(command, Failure.Type.MISSING_REQUIRED_ARGUMENT, i, null));
+						}
+						
+						continue COMMANDS;
 					}
-					
-					builder.append(msg.charAt(i));
 				}
-				
-				msg = builder.toString();
-				/* End pre-processing */
-				
-				/* Handle command as key-value */
-				Map<String, String> map = this.asMap(msg);
-				
-				if(map != null) {
-					for(int i = 0; i < args.length; i++) {
-						IArgument<?> argument = args[i];
-						if(map.containsKey(argument.getName())) {
-							String value = map.get(argument.getName());
-							
-							VerifiedArgument<?> verified = argument.verify(event, value);
-							switch(verified.getVerifiedType()) {
-								case INVALID: {
-									/* The content does not make for a valid argument */
-									possibleCommands.add(new Failure(command, new ArgumentParseException(argument, value)));
-									
-									continue COMMANDS;
-								}
-								case VALID:
-								case VALID_END_NOW: {
-									arguments[argumentCount++] = verified.getObject();
-									
-									break;
-								}
+			}else{
+				ARGUMENTS:
+				for(int i = 0; i < arguments.length; i++) {
+					if(msg.length() > 0) {
+						if(msg.startsWith(" ")) {
+							msg = msg.substring(1);
+						}else{ /* When does it get here? */
+							/* The argument for some reason does not start with a space */
+							if(possibleCommands != null) {
+								possibleCommands.add(Failure.of(command, Failure.Type.ARGUMENT_PARSE, -1, msg));
 							}
 							
-							arguments[i] = verified.getObject();
-						}else{
-							/* Missing argument */
-							possibleCommands.add(new Failure(command, new MissingRequiredArgumentException(argument)));
-							
 							continue COMMANDS;
 						}
 					}
-				}else{
-					ARGUMENTS:
-					for(int i = 0; i < arguments.length; i++) {
-						if(msg.length() > 0) {
-							if(msg.startsWith(" ")) {
-								msg = msg.substring(1);
-							}else{ /* When does it get here? */
-								/* The argument for some reason does not start with a space */
-								possibleCommands.add(new Failure(command, new ArgumentParseException(null, msg)));
-								
-								continue COMMANDS;
+					
+					IArgument<?> argument = args[i];
+					
+					VerifiedArgument<?> verified;
+					String content = null;
+					if(plan.hasFlag(i, ParsePlan.FLAG_ENDLESS)) {
+						if(msg.length() == 0 && !plan.hasFlag(i, ParsePlan.FLAG_ACCEPT_EMPTY)) {
+							/* There is no more content and the argument does not accept no content */
+							if(possibleCommands != null) {
+								possibleCommands.add(Failure.of(command, Failure.Type.OUT_OF_CONTENT, i, ""));
 							}
+							
+							continue COMMANDS;
 						}
 						
-						IArgument<?> argument = args[i];
-						
-						VerifiedArgument<?> verified;
-						String content = null;
-						if(argument.isEndless()) {
-							if(msg.length() == 0 && !argument.acceptEmpty()) {
-								/* There is no more content and the argument does not accept no content */
-								possibleCommands.add(new Failure(command, new OutOfContentException(argument)));
-								
-								continue COMMANDS;
-							}
-							
-							verified = argument.verify(event, content = msg);
-							msg = "";
-						}else{
-							if(msg.length() > 0) {
-								/* Is this even worth having? Not quite sure if I like the implementation */
-								if(argument instanceof IEndlessArgument) {
-									if(msg.charAt(0) == '[') {
-										int endBracket = 0;
-										while((endBracket = msg.indexOf(']', endBracket + 1)) != -1 && msg.charAt(endBracket - 1) == '\\');
+						verified = this.verify(context, argument, content = msg, i, pending);
+						msg = "";
+					}else{
+						if(msg.length() > 0) {
+							/* Is this even worth having? Not quite sure if I like the implementation */
+							if(plan.hasFlag(i, ParsePlan.FLAG_ENDLESS_ARGUMENT)) {
+								if(msg.charAt(0) == '[') {
+									int endBracket = 0;
+									while((endBracket = msg.indexOf(']', endBracket + 1)) != -1 && msg.charAt(endBracket - 1) == '\\');
+									
+									if(endBracket != -1) {
+										content = msg.substring(1, endBracket);
 										
-										if(endBracket != -1) {
-											content = msg.substring(1, endBracket);
-											
-											msg = msg.substring(content.length() + 2);
-											
-											content = content.replace("\\[", "[").replace("\\]", "]");
-										}
-									}
-								}else if(argument.acceptQuote()) {
-									if(msg.charAt(0) == '"') {
-										int nextQuote = 0;
-										while((nextQuote = msg.indexOf('"', nextQuote + 1)) != -1 && msg.charAt(nextQuote - 1) == '\\');
+										msg = msg.substring(content.length() + 2);
 										
-										if(nextQuote != -1) {
-											content = msg.substring(1, nextQuote);
-											
-											msg = msg.substring(content.length() + 2);
-											
-											content = content.replace("\\\"", "\"");
-										}
+										content = content.replace("\\[", "[").replace("\\]", "]");
 									}
 								}
-								
-								if(content == null) {
-									content = msg.substring(0, (msg.contains(" ")) ? msg.indexOf(" ") : msg.length());
-									msg = msg.substring(content.length());
+							}else if(plan.hasFlag(i, ParsePlan.FLAG_ACCEPT_QUOTE)) {
+								if(msg.charAt(0) == '"') {
+									int nextQuote = 0;
+									while((nextQuote = msg.indexOf('"', nextQuote + 1)) != -1 && msg.charAt(nextQuote - 1) == '\\');
+									
+									if(nextQuote != -1) {
+										content = msg.substring(1, nextQuote);
+										
+										msg = msg.substring(content.length() + 2);
+										
+										content = content.replace("\\\"", "\"");
+									}
 								}
-							}else{
-								content = "";
 							}
 							
-							/* There is no more content and the argument does not accept no content */
-							if(content.length() == 0 && !argument.acceptEmpty()) {
-								possibleCommands.add(new Failure(command, new OutOfContentException(argument)));
-								
-								continue COMMANDS;
+							if(content == null) {
+								content = msg.substring(0, (msg.contains(" ")) ? msg.indexOf(" ") : msg.length());
+								msg = msg.substring(content.length());
 							}
-							
-							verified = argument.verify(event, content);
+						}else{
+							content = "";
 						}
 						
-						switch(verified.getVerifiedType()) {
-							/* The content does not make for a valid argument */
-							case INVALID: {
-								possibleCommands.add(new Failure(command, new ArgumentParseException(argument, content)));
-								
-								continue COMMANDS;
-							}
-							case VALID: {
-								arguments[argumentCount++] = verified.getObject();
-								
-								break;
-							}
-							case VALID_END_NOW: {
-								arguments[argumentCount++] = verified.getObject();
-								
-								break ARGUMENTS;
+						/* There is no more content and the argument does not accept no content */
+						if(content.length() == 0 && !plan.hasFlag(i, ParsePlan.FLAG_ACCEPT_EMPTY)) {
+							if(possibleCommands != null) {
+								possibleCommands.add(Failure.of(command, Failure.Type.OUT_OF_CONTENT, i, ""));
 							}
+							
+							continue COMMANDS;
 						}
+						
+						verified = this.verify(context, argument, content, i, pending);
 					}
 					
-					/* There is more content than the arguments handled */
-					if(msg.length() > 0) {
-						if(command.getContentOverflowPolicy().equals(ContentOverflowPolicy.FAIL)) {
-							possibleCommands.add(new Failure(command, new ContentOverflowException(msg)));
+					switch(verified.getVerifiedType()) {
+						/* The content does not make for a valid argument */
+						case INVALID: {
+							if(possibleCommands != null) {
+								possibleCommands.add(Failure.of(command, Failure.Type.ARGUMENT_PARSE, i, content));
+							}
 							
 							continue COMMANDS;
 						}
+						case VALID: {
+							arguments[argumentCount++] = verified.getObject();
+							
+							break;
+						}
+						case VALID_END_NOW: {
+							arguments[argumentCount++] = verified.getObject();
+							
+							break ARGUMENTS;
+						}
 					}
-					
-					/* Not the correct amount of arguments for the command */
-					if(command.getArguments().length != argumentCount) {
-						Object[] temp = new Object[argumentCount];
-						for(int i = 0; i < temp.length; i++) {
-							temp[i] = arguments[i];
+				}
+				
+				/* There is more content than the arguments handled */
+				if(msg.length() > 0) {
+					if(plan.getContentOverflowPolicy().equals(ContentOverflowPolicy.FAIL)) {
+						if(possibleCommands != null) {
+							possibleCommands.add(Failure.of(command, Failure.Type.CONTENT_OVERFLOW, -1, msg));
 						}
 						
-						possibleCommands.add(new Failure(command, new InvalidArgumentCountException(command.getArguments(), temp)));
-						
 						continue COMMANDS;
 					}
 				}
 				
-				CommandEvent commandEvent = new CommandEvent(event, this, command, arguments, prefix, pair.getLeft(), options);
-				if(command.isExecuteAsync()) {
-					this.commandExecutor.submit(() -> {
-						this.execute(command, event, commandEvent, commandStarted, arguments);
-					});
-				}else{
-					this.execute(command, event, commandEvent, commandStarted, arguments);
+				/* Not the correct amount of arguments for the command */
+				if(args.length != argumentCount) {
+					if(possibleCommands != null) {
+						possibleCommands.add(Failure.ofArgumentCount(command, arguments, argumentCount));
+					}
+					
+					continue COMMANDS;
 				}
-				
-				return;
 			}
 			
-			if(this.helpEnabled && possibleCommands.size() > 0) {
-				if(event.getChannelType().isGuild()) {
-					Member bot = event.getGuild().getSelfMember();
-					
-					if(!bot.hasPermission(Permission.MESSAGE_WRITE)) {
-						event.getAuthor().openPrivateChannel().queue(channel -> {
-							channel.sendMessage("Missing permission **" + Permission.MESSAGE_WRITE.getName() + "** in " + event.getChannel().getName() + ", " + event.getGuild().getName()).queue();
-						});
+			if(pending != null && pending.size() > 0) {
+				this.awaitArguments(parse, index, command, pair.getLeft(), arguments, options, pending);
+			}else{
+				this.start(event, command, arguments, prefix, pair.getLeft(), options, commandStarted);
+			}
+			
+			return;
+		}
+		
+		if(parse.skipped != null) {
+			this.parse(new MessageParse(parse), 0);
+			
+			return;
+		}
+		
+		if(parse.skippedFrom != null) {
+			possibleCommands = CommandListener.mergeSkipped(parse.skippedFrom.failures, possibleCommands);
+		}
+		
+		this.sendHelp(event, prefix, possibleCommands);
+	}
+	
+	private void start(MessageReceivedEvent event, ICommand command, Object[] arguments, String prefix, String trigger, OptionSet options, long commandStarted) {
+		CommandEvent commandEvent = new CommandEvent(event, this, command, arguments, prefix, trigger, options);
+		if(command.isExecuteAsync()) {
+			Runnable task = () -> {
+				this.execute(command, event, commandEvent, commandStarted, arguments);
+			};
+			
+			/* The ordered executor needs to know that the task was dropped so that it can move on to the next one */
+			Executor executor = (runnable) -> {
+				if(!this.submit(commandEvent, runnable)) {
+					throw new RejectedExecutionException();
+				}
+			};
+			
+			switch(command.getExecutionOrder()) {
+				case CHANNEL: this.orderedExecutor.execute(event.getChannel().getIdLong(), task, executor); break;
+				case USER: this.orderedExecutor.execute(event.getAuthor().getIdLong(), task, executor); break;
+				default: this.submit(commandEvent, task); break;
+			}
+		}else{
+			this.execute(command, event, commandEvent, commandStarted, arguments);
+		}
+	}
+	
+	/* Returns false if the command scheduler rejected the task, which happens when the guild already has too many commands waiting, the command is then dropped */
+	private boolean submit(CommandEvent commandEvent, Runnable task) {
+		FairScheduler commandScheduler = this.commandScheduler;
+		if(commandScheduler == null) {
+			this.commandExecutor.submit(task);
+			
+			return true;
+		}
+		
+		if(commandScheduler.submit(commandEvent.getEvent(), task)) {
+			return true;
+		}
+		
+		Consumer<CommandEvent> rejectedFunction = this.rejectedFunction;
+		if(rejectedFunction != null) {
+			try {
+				rejectedFunction.accept(commandEvent);
+			}catch(Exception e) {
+				e.printStackTrace();
+			}
+		}
+		
+		return false;
+	}
+	
+	/* Verifies the argument, when arguments are parsed asynchronously a result which is not available yet is added to the pending arguments and is treated as valid for now */
+	private VerifiedArgument<?> verify(ParseContext context, IArgument<?> argument, String content, int index, List<PendingArgument> pending) {
+		if(pending == null) {
+			return argument.verify(context, content);
+		}
+		
+		CompletableFuture<? extends VerifiedArgument<?>> future = argument.verifyAsync(context, content).toCompletableFuture();
+		if(future.isDone() && !future.isCompletedExceptionally()) {
+			return future.join();
+		}
+		
+		pending.add(new PendingArgument(index, content, future));
+		
+		return CommandListener.PENDING_ARGUMENT;
+	}
+	
+	/* Waits for all the pending arguments of the command, which are resolved at the same time, and then either executes it or continues with the next command */
+	private void awaitArguments(MessageParse parse, int index, ICommand command, String trigger, Object[] arguments, OptionSet options, List<PendingArgument> pending) {
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[pending.size()];
+		for(int i = 0; i < futures.length; i++) {
+			futures[i] = pending.get(i).future;
+		}
+		
+		/* 
+		 * The last future is usually completed on a JDA callback thread, the rest of the parse and the command are moved to the command executor 
+		 * so that they never block the callback pool and can still use RestAction#complete
+		 */
+		CompletableFuture.allOf(futures).whenCompleteAsync((result, throwable) -> {
+			try {
+				for(PendingArgument argument : pending) {
+					VerifiedArgument<?> verified = argument.future.isCompletedExceptionally() ? null : argument.future.join();
+					if(verified == null || verified.getVerifiedType().equals(VerifiedType.INVALID)) {
+						/* The content does not make for a valid argument */
+						if(parse.failures != null) {
+							parse.failures.add(Failure.of(command, Failure.Type.ARGUMENT_PARSE, argument.index, argument.content));
+						}
 						
-						return;
-					}else if(!bot.hasPermission(Permission.MESSAGE_EMBED_LINKS)) {
-						event.getChannel().sendMessage("Missing permission **" + Permission.MESSAGE_EMBED_LINKS.getName() + "** in " + event.getChannel().getName() + ", " + event.getGuild().getName()).queue();
+						this.parse(parse, index + 1);
 						
 						return;
 					}
+					
+					arguments[argument.index] = verified.getObject();
 				}
 				
-				event.getChannel().sendMessage(this.getHelp(event, prefix, new ArrayList<>(possibleCommands)).build()).queue();
+				this.start(parse.event, command, arguments, parse.prefix, trigger, options, parse.started);
+			}catch(Throwable e) {
+				e.printStackTrace();
+			}
+		}, this.commandExecutor);
+	}
+	
+	private void sendHelp(MessageReceivedEvent event, String prefix, List<Failure> possibleCommands) {
+		if(possibleCommands != null && possibleCommands.size() > 0) {
+			if(!this.shouldNotify(event, null, Notice.HELP)) {
+				return;
+			}
+			
+			if(event.getChannelType().isGuild()) {
+				long permissions = this.getSelfPermissions(event.getTextChannel());
+				
+				if((permissions & Permission.MESSAGE_WRITE.getRawValue()) == 0) {
+					event.getAuthor().openPrivateChannel().queue(channel -> {
+						channel.sendMessage("Missing permission **" + Permission.MESSAGE_WRITE.getName() + "** in " + event.getChannel().getName() + ", " + event.getGuild().getName()).queue();
+					});
+					
+					return;
+				}else if((permissions & Permission.MESSAGE_EMBED_LINKS.getRawValue()) == 0) {
+					event.getChannel().sendMessage("Missing permission **" + Permission.MESSAGE_EMBED_LINKS.getName() + "** in " + event.getChannel().getName() + ", " + event.getGuild().getName()).queue();
+					
+					return;
+				}
+			}
+			
+			Message help = this.getHelp(event, prefix, new ArrayList<>(possibleCommands)).build();
+			
+			ReplyQueue replyQueue = this.replyQueue;
+			if(replyQueue != null) {
+				replyQueue.queueNotice(event.getChannel(), "help", event.getAuthor().getIdLong(), help);
+			}else{
+				event.getChannel().sendMessage(help).queue();
 			}
 		}
 	}
 	
-	/** Method used to convert a command to a map, for instance 
-	 * </br><b>color=#00FFFF name="a cyan role" permissions=8</b>
-	 * </br>would be parsed to a map with all the values, like this
-	 * </br><b>{color="#00FFFF", name="a cyan role", permissions="8"}</b>
+	/**
+	 * Goes through key-value content (key=value key2="quoted value") in a single pass,
+	 * this does not create anything unless values are given to bind the content to.
+	 * Empty content is not considered to be key-value content.
+	 * 
+	 * @param plan the plan of the command, used to bind the values to the arguments by their names, may be null if values is null
+	 * @param values the values by argument index, values which are given for keys which are not the name of any argument are ignored, may be null
+	 * 
+	 * @return whether or not the content is key-value content
 	 */
-	/* This should probably be re-worked */
-	private Map<String, String> asMap(String command) {
-		Map<String, String> map = new HashMap<>();
-		
-		String message = command;
-		while(map != null && message.length() > 0) {
-			if(message.startsWith(" ")) {
-				message = message.substring(1);
+	private static boolean parseKeyValue(String content, ParsePlan plan, String[] values) {
+		int length = content.length();
+		if(length == 0) {
+			return false;
+		}
+		
+		int index = 0;
+		while(index < length) {
+			if(content.charAt(index) == ' ') {
+				index++;
 			}
 			
-			if(message.contains("=")) {
-				String key = message.substring(0, message.indexOf("="));
-				message = message.substring(key.length() + 1);
-				
-				key = key.trim();
+			int equals = content.indexOf('=', index);
+			if(equals == -1) {
+				return false;
+			}
+			
+			/* The key is trimmed and can not contain any spaces */
+			int keyStart = index, keyEnd = equals;
+			while(keyStart < keyEnd && content.charAt(keyStart) <= ' ') {
+				keyStart++;
+			}
+			
+			while(keyEnd > keyStart && content.charAt(keyEnd - 1) <= ' ') {
+				keyEnd--;
+			}
+			
+			for(int i = keyStart; i < keyEnd; i++) {
+				if(content.charAt(i) == ' ') {
+					return false;
+				}
+			}
+			
+			index = equals + 1;
+			if(index < length && content.charAt(index) == ' ') {
+				index++;
+			}
+			
+			int valueStart = index, valueEnd = -1;
+			
+			boolean quoted = false;
+			if(index < length && content.charAt(index) == '"') {
+				int nextQuote = index;
+				while((nextQuote = content.indexOf('"', nextQuote + 1)) != -1 && content.charAt(nextQuote - 1) == '\\');
 				
-				if(!key.contains(" ")) {
-					if(message.startsWith(" ")) {
-						message = message.substring(1);
-					}
+				if(nextQuote != -1) {
+					valueStart = index + 1;
+					valueEnd = nextQuote;
 					
-					String value = null;
-					if(message.charAt(0) == '"') {
-						int nextQuote = 0;
-						while((nextQuote = message.indexOf('"', nextQuote + 1)) != -1 && message.charAt(nextQuote - 1) == '\\');
-						
-						if(nextQuote != -1) {
-							value = message.substring(1, nextQuote);
-							
-							message = message.substring(value.length() + 2);
-							
-							value = value.replace("\\\"", "\"");
-						}
-					}
+					index = nextQuote + 1;
 					
-					if(value == null) {
-						value = message.substring(0, (message.contains(" ")) ? message.indexOf(" ") : message.length());
-						message = message.substring(value.length());
-					}
+					quoted = true;
+				}
+			}
+			
+			if(valueEnd == -1) {
+				valueEnd = content.indexOf(' ', index);
+				if(valueEnd == -1) {
+					valueEnd = length;
+				}
+				
+				index = valueEnd;
+			}
+			
+			if(values != null) {
+				int argumentIndex = plan.getArgumentIndex(content, keyStart, keyEnd);
+				if(argumentIndex != -1) {
+					String value = content.substring(valueStart, valueEnd);
 					
-					map.put(key, value);
-				}else{
-					map = null;
+					values[argumentIndex] = quoted ? value.replace("\\\"", "\"") : value;
 				}
-			}else{
-				map = null;
 			}
 		}
 		
-		return map;
+		return true;
 	}
 	
 	private boolean checkPermissions(MessageReceivedEvent event, CommandEvent commandEvent, ICommand command) {
 		if(event.getChannelType().isGuild()) {
-			long neededPermissions = Permission.getRaw(command.getBotDiscordPermissionsNeeded()) | Permission.MESSAGE_WRITE.getRawValue();
-			long currentPermissions = Permission.getRaw(event.getMember().getPermissions(event.getTextChannel()));
+			long neededPermissions = command.getBotDiscordPermissionsNeededRaw() | Permission.MESSAGE_WRITE.getRawValue();
+			long currentPermissions = this.getSelfPermissions(event.getTextChannel());
 			
 			long permissions = (neededPermissions & ~currentPermissions);
 			
 			if(permissions != 0) {
-				if(this.missingPermissionFunction != null) {
+				if(this.missingPermissionFunction != null && this.shouldNotify(event, command, Notice.MISSING_PERMISSION)) {
 					this.missingPermissionFunction.accept(commandEvent, Permission.getPermissions(permissions));
 				}
 				
@@ -1054,13 +1851,13 @@ public class CommandListener implements EventListener {
 			ICommand actualCommand = (command instanceof DummyCommand) ? command.getParent() : command;
 			
 			if(event.getChannelType().isGuild()) {
-				if(actualCommand.getAuthorDiscordPermissionsNeeded().length > 0) {
-					List<Permission> permissions = Permission.getPermissions(Permission.getRaw(actualCommand.getAuthorDiscordPermissionsNeeded()) &
-						~Permission.getRaw(event.getMember().getPermissions(event.getTextChannel())));
+				long neededPermissions = actualCommand.getAuthorDiscordPermissionsNeededRaw();
+				if(neededPermissions != 0) {
+					long permissions = neededPermissions & ~PermissionUtil.getEffectivePermission(event.getTextChannel(), event.getMember());
 					
-					if(permissions.size() > 0) {
-						if(this.missingAuthorPermissionFunction != null) {
-							this.missingAuthorPermissionFunction.accept(commandEvent, permissions);
+					if(permissions != 0) {
+						if(this.missingAuthorPermissionFunction != null && this.shouldNotify(event, actualCommand, Notice.MISSING_AUTHOR_PERMISSION)) {
+							this.missingAuthorPermissionFunction.accept(commandEvent, Permission.getPermissions(permissions));
 						}
 						
 						return;
@@ -1068,7 +1865,7 @@ public class CommandListener implements EventListener {
 				}
 				
 				if(actualCommand.isNSFW() && !event.getTextChannel().isNSFW()) {
-					if(this.nsfwFunction != null) {
+					if(this.nsfwFunction != null && this.shouldNotify(event, actualCommand, Notice.NSFW)) {
 						this.nsfwFunction.accept(commandEvent);
 					}
 					
@@ -1110,7 +1907,7 @@ public class CommandListener implements EventListener {
 							}
 						}
 					}else{
-						if(this.cooldownFunction != null) {
+						if(this.cooldownFunction != null && this.shouldNotify(event, actualCommand, Notice.COOLDOWN)) {
 							this.cooldownFunction.accept(commandEvent, cooldown);
 						}
 						
@@ -1175,7 +1972,7 @@ public class CommandListener implements EventListener {
 						}
 					}
 					
-					if(this.missingPermissionExceptionFunction != null) {
+					if(this.missingPermissionExceptionFunction != null && this.shouldNotify(event, actualCommand, Notice.MISSING_PERMISSION)) {
 						this.missingPermissionExceptionFunction.accept(commandEvent, ((PermissionException) e).getPermission());
 					}
 					
@@ -28,6 +28,12 @@ public class DummyCommand implements ICommand {
 	
 	private IArgument<?>[] arguments;
 	
+	/* The arguments of a dummy command never change so this only has to be created once */
+	private String argumentInfo;
+	
+	/* The options and policies come from the parent so this is compiled again whenever the parent's plan changes */
+	private ParsePlan parsePlan;
+	
 	public DummyCommand(ICommand command, IArgument<?>... arguments) {
 		this.command = command;
 		
@@ -89,6 +95,10 @@ public class DummyCommand implements ICommand {
 		return this.command.isExecuteAsync();
 	}
 	
+	public ExecutionOrder getExecutionOrder() {
+		return this.command.getExecutionOrder();
+	}
+	
 	public boolean isBotTriggerable() {
 		return this.command.isBotTriggerable();
 	}
@@ -137,6 +147,14 @@ public class DummyCommand implements ICommand {
 		return this.command.getBotDiscordPermissionsNeeded();
 	}
 	
+	public long getAuthorDiscordPermissionsNeededRaw() {
+		return this.command.getAuthorDiscordPermissionsNeededRaw();
+	}
+	
+	public long getBotDiscordPermissionsNeededRaw() {
+		return this.command.getBotDiscordPermissionsNeededRaw();
+	}
+	
 	public String getCommand() {
 		return this.command.getCommand();
 	}
@@ -172,6 +190,25 @@ public class DummyCommand implements ICommand {
 		return command;
 	}
 	
+	public String getArgumentInfo() {
+		if(this.argumentInfo == null) {
+			this.argumentInfo = ICommand.super.getArgumentInfo();
+		}
+		
+		return this.argumentInfo;
+	}
+	
+	public ParsePlan getParsePlan() {
+		ParsePlan parentPlan = this.command.getParsePlan(), parsePlan = this.parsePlan;
+		if(parsePlan == null || parsePlan.getOptions() != parentPlan.getOptions() || parsePlan.getInvalidOptionPolicy() != parentPlan.getInvalidOptionPolicy() 
+				|| parsePlan.getContentOverflowPolicy() != parentPlan.getContentOverflowPolicy()) {
+			
+			this.parsePlan = parsePlan = new ParsePlan(this, parentPlan);
+		}
+		
+		return parsePlan;
+	}
+	
 	public IOption[] getOptions() {
 		return this.command.getOptions();
 	}
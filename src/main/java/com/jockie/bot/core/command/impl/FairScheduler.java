@@ -0,0 +1,312 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.ToLongFunction;
+
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.core.utils.Checks;
+
+/**
+ * Schedules asynchronous commands fairly between guilds (or shards), each guild gets its own queue
+ * and the queues are served with deficit round-robin so that one busy guild can not take up all the threads,
+ * see {@link CommandListener#setCommandScheduler(FairScheduler)}.
+ * </br></br>
+ * A guild with a weight of 2 gets twice as many turns as a guild with a weight of 1,
+ * in addition to this each guild can be limited to a maximum amount of running commands and a maximum amount of queued commands
+ */
+public class FairScheduler {
+	
+	/** Commands in guilds are queued by the guild, commands in private channels are queued by the user */
+	public static final ToLongFunction<MessageReceivedEvent> BY_GUILD = (event) -> {
+		return event.getChannelType().isGuild() ? event.getGuild().getIdLong() : event.getAuthor().getIdLong();
+	};
+	
+	/** Commands are queued by the shard they were received on */
+	public static final ToLongFunction<MessageReceivedEvent> BY_SHARD = (event) -> {
+		return event.getJDA().getShardInfo() != null ? event.getJDA().getShardInfo().getShardId() : 0;
+	};
+	
+	private static class Queue {
+		
+		private final long key;
+		
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+		
+		private int running;
+		
+		/* How many more tasks this queue can start before it is another queue's turn */
+		private int deficit;
+		
+		/* Whether or not this queue is waiting for its turn */
+		private boolean active;
+		
+		private Queue(long key) {
+			this.key = key;
+		}
+	}
+	
+	private class Job implements Runnable {
+		
+		private final Queue queue;
+		private final Runnable task;
+		
+		private Job(Queue queue, Runnable task) {
+			this.queue = queue;
+			this.task = task;
+		}
+		
+		public void run() {
+			try {
+				this.task.run();
+			}finally{
+				FairScheduler.this.complete(this.queue);
+			}
+		}
+	}
+	
+	private final Executor executor;
+	
+	private final int parallelism;
+	
+	private final ToLongFunction<MessageReceivedEvent> keyFunction;
+	
+	private final Map<Long, Queue> queues = new HashMap<>();
+	
+	/* The queues which have tasks that can be started, in the order of their turns */
+	private final ArrayDeque<Queue> active = new ArrayDeque<>();
+	
+	private final Map<Long, Integer> weights = new ConcurrentHashMap<>();
+	
+	private int running;
+	
+	private volatile int maximumRunning = Integer.MAX_VALUE;
+	private volatile int maximumQueued = Integer.MAX_VALUE;
+	
+	/**
+	 * @param parallelism the maximum amount of commands which can run at the same time
+	 */
+	public FairScheduler(int parallelism) {
+		this(Executors.newCachedThreadPool(), parallelism, FairScheduler.BY_GUILD);
+	}
+	
+	/**
+	 * @param executor the executor the commands are run on
+	 * @param parallelism the maximum amount of commands which can run at the same time, this should not be more than the amount of threads the executor has
+	 * @param keyFunction the function which decides which queue a command is put in, {@link #BY_GUILD} or {@link #BY_SHARD}
+	 */
+	public FairScheduler(Executor executor, int parallelism, ToLongFunction<MessageReceivedEvent> keyFunction) {
+		Checks.notNull(executor, "Executor");
+		Checks.positive(parallelism, "Parallelism");
+		Checks.notNull(keyFunction, "Key function");
+		
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.keyFunction = keyFunction;
+	}
+	
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/**
+	 * @param maximumRunning the maximum amount of commands from the same guild which can run at the same time
+	 */
+	public FairScheduler setMaximumRunning(int maximumRunning) {
+		Checks.positive(maximumRunning, "Maximum running");
+		
+		this.maximumRunning = maximumRunning;
+		
+		return this;
+	}
+	
+	public int getMaximumRunning() {
+		return this.maximumRunning;
+	}
+	
+	/**
+	 * @param maximumQueued the maximum amount of commands from the same guild which can wait to be run, anything submitted after that is rejected
+	 */
+	public FairScheduler setMaximumQueued(int maximumQueued) {
+		Checks.notNegative(maximumQueued, "Maximum queued");
+		
+		this.maximumQueued = maximumQueued;
+		
+		return this;
+	}
+	
+	public int getMaximumQueued() {
+		return this.maximumQueued;
+	}
+	
+	/**
+	 * @param key the guild id (or whatever the key function returns)
+	 * @param weight how many turns the guild gets compared to others, the default is 1
+	 */
+	public FairScheduler setWeight(long key, int weight) {
+		Checks.positive(weight, "Weight");
+		
+		if(weight == 1) {
+			this.weights.remove(key);
+		}else{
+			this.weights.put(key, weight);
+		}
+		
+		return this;
+	}
+	
+	public int getWeight(long key) {
+		return this.weights.getOrDefault(key, 1);
+	}
+	
+	/**
+	 * @return whether or not the task was scheduled, it is rejected if the guild already has {@link #getMaximumQueued()} tasks waiting
+	 */
+	public boolean submit(MessageReceivedEvent event, Runnable task) {
+		return this.submit(this.keyFunction.applyAsLong(event), task);
+	}
+	
+	/**
+	 * @return whether or not the task was scheduled, it is rejected if the key already has {@link #getMaximumQueued()} tasks waiting
+	 */
+	public boolean submit(long key, Runnable task) {
+		List<Job> start;
+		
+		synchronized(this) {
+			Queue queue = this.queues.get(key);
+			if(queue == null) {
+				queue = new Queue(key);
+				
+				this.queues.put(key, queue);
+			}
+			
+			/* Nothing else is waiting when there is a free thread, which means that the task would not be queued at all */
+			boolean startNow = this.running < this.parallelism && queue.running < this.maximumRunning;
+			
+			if(!startNow && queue.tasks.size() >= this.maximumQueued) {
+				if(queue.tasks.isEmpty() && queue.running == 0) {
+					this.queues.remove(key);
+				}
+				
+				return false;
+			}
+			
+			queue.tasks.add(task);
+			
+			this.activate(queue);
+			
+			start = this.dispatch();
+		}
+		
+		this.start(start);
+		
+		return true;
+	}
+	
+	private void activate(Queue queue) {
+		if(!queue.active && !queue.tasks.isEmpty() && queue.running < this.maximumRunning) {
+			queue.active = true;
+			
+			this.active.addLast(queue);
+		}
+	}
+	
+	/* Takes the tasks which can be started now, has to be called while synchronized */
+	private List<Job> dispatch() {
+		List<Job> start = null;
+		
+		while(this.running < this.parallelism && !this.active.isEmpty()) {
+			Queue queue = this.active.pollFirst();
+			queue.active = false;
+			
+			if(queue.deficit <= 0) {
+				queue.deficit += this.getWeight(queue.key);
+			}
+			
+			Runnable task = queue.tasks.poll();
+			
+			queue.deficit--;
+			queue.running++;
+			
+			this.running++;
+			
+			if(!queue.tasks.isEmpty() && queue.running < this.maximumRunning) {
+				queue.active = true;
+				
+				/* Keep the turn until the deficit has been used up */
+				if(queue.deficit > 0) {
+					this.active.addFirst(queue);
+				}else{
+					this.active.addLast(queue);
+				}
+			}
+			
+			if(start == null) {
+				start = new ArrayList<>();
+			}
+			
+			start.add(new Job(queue, task));
+		}
+		
+		return start;
+	}
+	
+	private void complete(Queue queue) {
+		List<Job> start;
+		
+		synchronized(this) {
+			queue.running--;
+			
+			this.running--;
+			
+			if(queue.tasks.isEmpty() && queue.running == 0) {
+				this.queues.remove(queue.key);
+			}else{
+				this.activate(queue);
+			}
+			
+			start = this.dispatch();
+		}
+		
+		this.start(start);
+	}
+	
+	private void start(List<Job> jobs) {
+		if(jobs == null) {
+			return;
+		}
+		
+		for(Job job : jobs) {
+			try {
+				this.executor.execute(job);
+			}catch(Exception e) {
+				e.printStackTrace();
+				
+				/* The task is dropped but its slot has to be given back */
+				this.complete(job.queue);
+			}
+		}
+	}
+	
+	/**
+	 * @return the amount of tasks waiting to be run for the key
+	 */
+	public synchronized int getQueuedCount(long key) {
+		Queue queue = this.queues.get(key);
+		
+		return (queue != null) ? queue.tasks.size() : 0;
+	}
+	
+	/**
+	 * @return the amount of tasks which are running
+	 */
+	public synchronized int getRunningCount() {
+		return this.running;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.function.Consumer;
+
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.MessageChannel;
+
+/**
+ * Where the {@link ReplyQueue} sends its messages, this is {@link ReplyQueue#DEFAULT_SINK} which sends them through JDA
+ * but can be replaced to test what would be sent without connecting to Discord
+ */
+@FunctionalInterface
+public interface IReplySink {
+	
+	/**
+	 * @param callback has to be called once the message has been sent, with null if it was sent successfully or the reason it failed,
+	 * the next message for the channel is not sent before this is called
+	 */
+	public void send(MessageChannel channel, Message message, Consumer<Throwable> callback);
+
+}
\ No newline at end of file
@@ -77,12 +77,17 @@ public class MethodCommand extends CommandImpl {
 			methodCommand.setDescription(commandAnnotation.description());
 			methodCommand.setDeveloperCommand(commandAnnotation.developerCommand());
 			methodCommand.setExecuteAsync(commandAnnotation.async());
+			methodCommand.setExecutionOrder(commandAnnotation.executionOrder());
 			methodCommand.setGuildTriggerable(commandAnnotation.guildTriggerable());
 			methodCommand.setHidden(commandAnnotation.hidden());
 			methodCommand.setPrivateTriggerable(commandAnnotation.privateTriggerable());
 			methodCommand.setShortDescription(commandAnnotation.shortDescription());
 			methodCommand.setExamples(commandAnnotation.examples());
 			methodCommand.setNSFW(commandAnnotation.nsfw());
+			
+			if(commandAnnotation.cache() > 0) {
+				methodCommand.setResultCache(new ResultCache(commandAnnotation.cache(), commandAnnotation.cacheUnit(), commandAnnotation.cacheScope(), commandAnnotation.cacheSize()));
+			}
 		}else{
 			methodCommand = new MethodCommand(name != null ? name : "", method, invoker);
 		}
@@ -91,6 +96,56 @@ public class MethodCommand extends CommandImpl {
 	}
 	
 	public static void executeMethodCommand(Object invoker, Method command, MessageReceivedEvent event, CommandEvent commandEvent, Object... args) throws Throwable {
+		MethodCommand.sendResult(commandEvent, MethodCommand.invokeMethodCommand(invoker, command, event, commandEvent, args));
+	}
+	
+	/**
+	 * Executes the command method, if the result cache has a result for the arguments it is sent instead
+	 * 
+	 * @param resultCache the cache for the results of the command or null to always execute it
+	 */
+	public static void executeMethodCommand(ResultCache resultCache, Object invoker, Method command, MessageReceivedEvent event, CommandEvent commandEvent, Object... args) throws Throwable {
+		if(resultCache == null) {
+			MethodCommand.executeMethodCommand(invoker, command, event, commandEvent, args);
+			
+			return;
+		}
+		
+		ResultCache.Key key = resultCache.createKey(event, commandEvent, args);
+		
+		Object result = resultCache.get(key);
+		if(result == null) {
+			result = MethodCommand.invokeMethodCommand(invoker, command, event, commandEvent, args);
+			
+			if(result instanceof Message || result instanceof MessageEmbed || result instanceof CharSequence) {
+				resultCache.put(key, result);
+			}
+		}
+		
+		MethodCommand.sendResult(commandEvent, result);
+	}
+	
+	/**
+	 * Sends the result of a command method through {@link CommandEvent#queueReply(Message)}, null is ignored
+	 */
+	public static void sendResult(CommandEvent commandEvent, Object result) {
+		if(result != null) {
+			if(result instanceof Message) {
+				commandEvent.queueReply((Message) result);
+			}else if(result instanceof MessageEmbed) {
+				commandEvent.queueReply((MessageEmbed) result);
+			}else if(result instanceof CharSequence) {
+				commandEvent.queueReply((CharSequence) result);
+			}else{
+				System.err.println(result.getClass() + " is an unsupported return type for a command method");
+			}
+		}
+	}
+	
+	/**
+	 * @return the result of the command method, null if it did not return anything or if the arguments did not match
+	 */
+	public static Object invokeMethodCommand(Object invoker, Method command, MessageReceivedEvent event, CommandEvent commandEvent, Object... args) throws Throwable {
 		int contextCount = 0;
 		for(Parameter parameter : command.getParameters()) {
 			if(parameter.getType().isAssignableFrom(MessageReceivedEvent.class) || parameter.getType().isAssignableFrom(CommandEvent.class)) {
@@ -123,18 +178,7 @@ public class MethodCommand extends CommandImpl {
 				command.setAccessible(true);
 			}
 			
-			Object obj = command.invoke(invoker, arguments);
-			if(obj != null) {
-				if(obj instanceof Message) {
-					event.getChannel().sendMessage((Message) obj).queue();
-				}else if(obj instanceof MessageEmbed) {
-					event.getChannel().sendMessage((MessageEmbed) obj).queue();
-				}else if(obj instanceof CharSequence) {
-					event.getChannel().sendMessage((CharSequence) obj).queue();
-				}else{
-					System.err.println(obj.getClass() + " is an unsupported return type for a command method");
-				}
-			}
+			return command.invoke(invoker, arguments);
 		}catch(IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			if(e instanceof IllegalArgumentException) {
 				StringBuilder information = new StringBuilder();
@@ -159,6 +203,8 @@ public class MethodCommand extends CommandImpl {
 				
 				/* No need to throw an Exception for this, the stack trace doesn't add any additional information. I guess we should add some sort of event for this though, maybe they don't want it in the console */
 				System.err.println(information);
+				
+				return null;
 			}else{
 				if(e instanceof InvocationTargetException) {
 					if(e instanceof Exception) {
@@ -180,6 +226,6 @@ public class MethodCommand extends CommandImpl {
 	}
 	
 	public void execute(MessageReceivedEvent event, CommandEvent commandEvent, Object... args) throws Throwable {
-		MethodCommand.executeMethodCommand(this.invoker, this.method, event, commandEvent, args);
+		MethodCommand.executeMethodCommand(this.getResultCache(), this.invoker, this.method, event, commandEvent, args);
 	}
 }
\ No newline at end of file
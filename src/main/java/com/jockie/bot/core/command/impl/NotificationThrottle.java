@@ -0,0 +1,168 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.jockie.bot.core.command.ICommand;
+
+/**
+ * Keeps track of which notices (such as the cooldown message) have recently been sent to a user for a command
+ * so that a user spamming a command does not get a reply to every single message, see {@link CommandListener#setNotificationThrottle(NotificationThrottle)}.
+ * </br></br>
+ * The entries are stored in an open addressing table of primitive arrays, expired entries are removed when the table is resized
+ */
+public class NotificationThrottle {
+	
+	public enum Notice {
+		COOLDOWN,
+		NSFW,
+		MISSING_PERMISSION,
+		MISSING_AUTHOR_PERMISSION,
+		HELP;
+	}
+	
+	/** How long a notice is not sent again for by default, in milliseconds */
+	public static final long DEFAULT_WINDOW = TimeUnit.SECONDS.toMillis(5);
+	
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private static int hash(long userId, long tag) {
+		long hash = (userId ^ (tag * 0x9E3779B97F4A7C15L)) * 0xC4CEB9FE1A85EC53L;
+		
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	private final long window;
+	
+	private long[] users = new long[NotificationThrottle.INITIAL_CAPACITY];
+	private long[] tags = new long[NotificationThrottle.INITIAL_CAPACITY];
+	
+	/* 0 if the slot is empty */
+	private long[] expires = new long[NotificationThrottle.INITIAL_CAPACITY];
+	
+	private int size;
+	
+	/* Every command gets its own id so that two commands can never share a tag, 0 is used for notices which are not for a command */
+	private final Map<ICommand, Long> commandIds = new WeakHashMap<>();
+	private long nextCommandId = 1L;
+	
+	public NotificationThrottle() {
+		this(NotificationThrottle.DEFAULT_WINDOW);
+	}
+	
+	/**
+	 * @param window how long a notice should not be sent again for after it has been sent, in milliseconds
+	 */
+	public NotificationThrottle(long window) {
+		this.window = window;
+	}
+	
+	public NotificationThrottle(long window, TimeUnit unit) {
+		this(unit.toMillis(window));
+	}
+	
+	public long getWindow() {
+		return this.window;
+	}
+	
+	/**
+	 * @param command the command the notice is for or null if it is not for a command (such as {@link Notice#HELP})
+	 * 
+	 * @return whether or not the notice should be sent, if it should it will not be sent again to the user for the command until the window has passed
+	 */
+	public synchronized boolean tryNotify(long userId, ICommand command, Notice notice) {
+		long tag = (this.getCommandId(command) << 8) | notice.ordinal();
+		long now = System.currentTimeMillis();
+		
+		int mask = this.expires.length - 1;
+		for(int i = NotificationThrottle.hash(userId, tag) & mask; ; i = (i + 1) & mask) {
+			if(this.expires[i] == 0) {
+				this.users[i] = userId;
+				this.tags[i] = tag;
+				this.expires[i] = now + this.window;
+				
+				if(++this.size > this.expires.length >>> 1) {
+					this.resize(now);
+				}
+				
+				return true;
+			}
+			
+			if(this.users[i] == userId && this.tags[i] == tag) {
+				if(this.expires[i] - now > 0) {
+					return false;
+				}
+				
+				this.expires[i] = now + this.window;
+				
+				return true;
+			}
+		}
+	}
+	
+	private long getCommandId(ICommand command) {
+		if(command == null) {
+			return 0L;
+		}
+		
+		Long id = this.commandIds.get(command);
+		if(id == null) {
+			this.commandIds.put(command, id = this.nextCommandId++);
+		}
+		
+		return id;
+	}
+	
+	/* Removes the expired entries and grows the table if it is still more than a quarter full or shrinks it if it is mostly empty */
+	private void resize(long now) {
+		int count = 0;
+		for(long expires : this.expires) {
+			if(expires != 0 && expires - now > 0) {
+				count++;
+			}
+		}
+		
+		int capacity = this.expires.length;
+		if(count > capacity >>> 2) {
+			capacity <<= 1;
+		}else if(count < capacity >>> 4 && capacity > NotificationThrottle.INITIAL_CAPACITY) {
+			capacity >>>= 1;
+		}
+		
+		long[] users = this.users, tags = this.tags, expires = this.expires;
+		
+		this.users = new long[capacity];
+		this.tags = new long[capacity];
+		this.expires = new long[capacity];
+		this.size = count;
+		
+		int mask = capacity - 1;
+		for(int i = 0; i < expires.length; i++) {
+			if(expires[i] != 0 && expires[i] - now > 0) {
+				int slot = NotificationThrottle.hash(users[i], tags[i]) & mask;
+				while(this.expires[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				
+				this.users[slot] = users[i];
+				this.tags[slot] = tags[i];
+				this.expires[slot] = expires[i];
+			}
+		}
+	}
+	
+	/**
+	 * @return the amount of entries, including those which have expired but have not been removed yet
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+	
+	public synchronized void clear() {
+		this.users = new long[NotificationThrottle.INITIAL_CAPACITY];
+		this.tags = new long[NotificationThrottle.INITIAL_CAPACITY];
+		this.expires = new long[NotificationThrottle.INITIAL_CAPACITY];
+		this.size = 0;
+	}
+}
\ No newline at end of file
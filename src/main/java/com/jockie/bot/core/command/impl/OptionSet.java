@@ -0,0 +1,169 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.jockie.bot.core.command.ICommand.InvalidOptionPolicy;
+import com.jockie.bot.core.option.IOption;
+
+/**
+ * The options which were present in a message, the options of the command are stored as bits by their index in the {@link ParsePlan}
+ * so checking if one is present does not have to go through all of them.
+ * </br></br>
+ * Options can be given a value, for instance <strong>--limit=10</strong>, see {@link #getValue(String)}
+ */
+public class OptionSet {
+	
+	private final ParsePlan plan;
+	
+	private final long[] present;
+	
+	/* Only created once an option with a value is added */
+	private String[] values;
+	
+	/* Options which the command does not have, only used by InvalidOptionPolicy.ADD */
+	private List<String> unknown;
+	private List<String> unknownValues;
+	
+	public OptionSet(ParsePlan plan) {
+		this.plan = plan;
+		this.present = new long[(plan.getOptions().length + 63) >>> 6];
+	}
+	
+	/**
+	 * @param index the index of the option in {@link ParsePlan#getOptions()}
+	 * @param value the value of the option, may be null
+	 */
+	public void add(int index, String value) {
+		this.present[index >>> 6] |= 1L << index;
+		
+		if(value != null) {
+			if(this.values == null) {
+				this.values = new String[this.plan.getOptions().length];
+			}
+			
+			this.values[index] = value;
+		}
+	}
+	
+	/**
+	 * Adds an option which the command does not have, see {@link InvalidOptionPolicy#ADD}
+	 *
+	 * @param value the value of the option, may be null
+	 */
+	public void addUnknown(String option, String value) {
+		if(this.unknown == null) {
+			this.unknown = new ArrayList<>(2);
+			this.unknownValues = new ArrayList<>(2);
+		}
+		
+		this.unknown.add(option.toLowerCase());
+		this.unknownValues.add(value);
+	}
+	
+	/**
+	 * @param index the index of the option in {@link ParsePlan#getOptions()}
+	 *
+	 * @return whether or not the option is present
+	 */
+	public boolean has(int index) {
+		return (this.present[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	/**
+	 * @return whether or not the option, by name or alias (ignoring case), is present
+	 */
+	public boolean has(String option) {
+		int index = this.plan.getOptionIndex(option);
+		if(index != -1) {
+			return this.has(index);
+		}
+		
+		return this.unknown != null && this.unknown.contains(option.toLowerCase());
+	}
+	
+	/**
+	 * @param index the index of the option in {@link ParsePlan#getOptions()}
+	 *
+	 * @return the value the option was given or null if it was not given one or if it is not present
+	 */
+	public String getValue(int index) {
+		return (this.values != null) ? this.values[index] : null;
+	}
+	
+	/**
+	 * @return the value the option, by name or alias (ignoring case), was given or null if it was not given one or if it is not present
+	 */
+	public String getValue(String option) {
+		int index = this.plan.getOptionIndex(option);
+		if(index != -1) {
+			return this.getValue(index);
+		}
+		
+		if(this.unknown != null) {
+			int unknownIndex = this.unknown.indexOf(option.toLowerCase());
+			if(unknownIndex != -1) {
+				return this.unknownValues.get(unknownIndex);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * @return whether or not no options are present
+	 */
+	public boolean isEmpty() {
+		for(long bits : this.present) {
+			if(bits != 0) {
+				return false;
+			}
+		}
+		
+		return this.unknown == null;
+	}
+	
+	/**
+	 * @return the options of the command which are present
+	 */
+	public List<IOption> getOptions() {
+		IOption[] options = this.plan.getOptions();
+		
+		List<IOption> present = new ArrayList<>();
+		for(int i = 0; i < options.length; i++) {
+			if(this.has(i)) {
+				present.add(options[i]);
+			}
+		}
+		
+		return present;
+	}
+	
+	/**
+	 * @return the names of all the options which are present, the options of the command by their name followed by any unknown options
+	 */
+	public List<String> getNames() {
+		if(this.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		List<String> names = new ArrayList<>();
+		for(IOption option : this.getOptions()) {
+			names.add(option.getName());
+		}
+		
+		if(this.unknown != null) {
+			names.addAll(this.unknown);
+		}
+		
+		return names;
+	}
+	
+	/**
+	 * @return the plan the option indexes belong to
+	 */
+	public ParsePlan getPlan() {
+		return this.plan;
+	}
+}
\ No newline at end of file
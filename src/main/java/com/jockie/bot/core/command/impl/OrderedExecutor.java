@@ -0,0 +1,108 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the tasks for the same key (such as a channel or user id) one at a time in the order they were added,
+ * tasks for different keys still run in parallel, see {@link com.jockie.bot.core.command.ICommand.ExecutionOrder ExecutionOrder}.
+ * </br></br>
+ * Each key with tasks has a mailbox which only exists while it has tasks, only the first task is handed to the executor
+ * and the next one is handed to it once the previous has finished, this means that no thread is ever blocked waiting for its turn
+ */
+public class OrderedExecutor {
+	
+	private static class Entry {
+		
+		private final Runnable task;
+		
+		/* Every task keeps its own executor, tasks for the same key can come from different guilds which are scheduled separately */
+		private final Executor executor;
+		
+		private Entry(Runnable task, Executor executor) {
+			this.task = task;
+			this.executor = executor;
+		}
+	}
+	
+	/* The tasks waiting for the one which is running, only changed through compute so that adding and finishing a task do not race */
+	private final Map<Long, ArrayDeque<Entry>> mailboxes = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param key the key the task is ordered by
+	 * @param executor the executor the task is run on, if it throws a {@link RejectedExecutionException} the task is dropped and the next task for the key is run
+	 */
+	public void execute(long key, Runnable task, Executor executor) {
+		Entry entry = new Entry(task, executor);
+		
+		boolean[] first = new boolean[1];
+		
+		this.mailboxes.compute(key, (k, mailbox) -> {
+			if(mailbox == null) {
+				first[0] = true;
+				
+				return new ArrayDeque<>(2);
+			}
+			
+			mailbox.add(entry);
+			
+			return mailbox;
+		});
+		
+		if(first[0]) {
+			this.run(key, entry);
+		}
+	}
+	
+	/* Rejected tasks are skipped in a loop rather than recursively so that a long run of rejections can not overflow the stack */
+	private void run(long key, Entry entry) {
+		while(entry != null) {
+			Entry current = entry;
+			
+			try {
+				current.executor.execute(() -> {
+					try {
+						current.task.run();
+					}finally{
+						this.run(key, this.poll(key));
+					}
+				});
+				
+				return;
+			}catch(RejectedExecutionException e) {
+				entry = this.poll(key);
+			}
+		}
+	}
+	
+	/* Takes the next task for the key, the mailbox is removed once it is empty */
+	private Entry poll(long key) {
+		Entry[] next = new Entry[1];
+		
+		this.mailboxes.compute(key, (k, mailbox) -> {
+			next[0] = mailbox.poll();
+			
+			return (next[0] != null) ? mailbox : null;
+		});
+		
+		return next[0];
+	}
+	
+	/**
+	 * @return the amount of tasks waiting for the key, not including the one which is running
+	 */
+	public int getPendingCount(long key) {
+		int[] count = new int[1];
+		
+		this.mailboxes.computeIfPresent(key, (k, mailbox) -> {
+			count[0] = mailbox.size();
+			
+			return mailbox;
+		});
+		
+		return count[0];
+	}
+}
\ No newline at end of file
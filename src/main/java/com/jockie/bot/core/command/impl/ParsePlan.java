@@ -0,0 +1,414 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.Arrays;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.IEndlessArgument;
+import com.jockie.bot.core.command.ICommand;
+import com.jockie.bot.core.command.ICommand.ContentOverflowPolicy;
+import com.jockie.bot.core.command.ICommand.InvalidOptionPolicy;
+import com.jockie.bot.core.option.IOption;
+
+/**
+ * Everything the {@link CommandListener} needs to know about a command's arguments and options when parsing a message,
+ * compiled once so that it does not have to be worked out again for every message.
+ * </br></br>
+ * A plan never changes, commands which cache their plan have to compile a new one when their arguments, options or policies change
+ *
+ * @see ICommand#getParsePlan()
+ */
+public class ParsePlan {
+	
+	/** The argument takes the rest of the content, see {@link IArgument#isEndless()} */
+	public static final int FLAG_ENDLESS = 1 << 0;
+	/** The argument is an {@link IEndlessArgument} and can be given as a list in brackets */
+	public static final int FLAG_ENDLESS_ARGUMENT = 1 << 1;
+	/** See {@link IArgument#acceptQuote()} */
+	public static final int FLAG_ACCEPT_QUOTE = 1 << 2;
+	/** See {@link IArgument#acceptEmpty()} */
+	public static final int FLAG_ACCEPT_EMPTY = 1 << 3;
+	
+	/**
+	 * A table from names to indexes where the seed is chosen so that no two names end up in the same slot,
+	 * which means that a lookup only ever has to compare one name and can be done on part of a message without creating a new string
+	 */
+	private static class KeyTable {
+		
+		/* How many seeds are tried for each table size before the table is made bigger */
+		private static final int SEED_ATTEMPTS = 32;
+		
+		/* The table is not allowed to grow beyond this, it would only get here if two keys can not be told apart by any seed */
+		private static final int MAXIMUM_SIZE = 1 << 16;
+		
+		private static final KeyTable EMPTY = new KeyTable(new String[0], new int[0], 0, false);
+		
+		private final String[] keys;
+		private final int[] indexes;
+		private final int seed;
+		
+		private final boolean ignoreCase;
+		
+		private KeyTable(String[] keys, int[] indexes, int seed, boolean ignoreCase) {
+			this.keys = keys;
+			this.indexes = indexes;
+			this.seed = seed;
+			this.ignoreCase = ignoreCase;
+		}
+		
+		/**
+		 * @param keys the keys, null keys are skipped and later keys replace earlier ones the same way they would in a map
+		 * @param indexes the index of each key
+		 */
+		private static KeyTable of(String[] keys, int[] indexes, boolean ignoreCase) {
+			String[] distinctKeys = new String[keys.length];
+			int[] distinctIndexes = new int[keys.length];
+			
+			int count = 0;
+			
+			KEYS:
+			for(int i = 0; i < keys.length; i++) {
+				if(keys[i] == null) {
+					continue;
+				}
+				
+				String key = ignoreCase ? KeyTable.toLowerCase(keys[i]) : keys[i];
+				for(int j = 0; j < count; j++) {
+					if(distinctKeys[j].equals(key)) {
+						distinctIndexes[j] = indexes[i];
+						
+						continue KEYS;
+					}
+				}
+				
+				distinctKeys[count] = key;
+				distinctIndexes[count++] = indexes[i];
+			}
+			
+			if(count == 0) {
+				return KeyTable.EMPTY;
+			}
+			
+			for(int size = Integer.highestOneBit(count * 2 - 1) << 1; size <= KeyTable.MAXIMUM_SIZE; size <<= 1) {
+				SEEDS:
+				for(int attempt = 1; attempt <= KeyTable.SEED_ATTEMPTS; attempt++) {
+					int seed = attempt * 0x9E3779B9;
+					
+					String[] table = new String[size];
+					int[] tableIndexes = new int[size];
+					
+					for(int i = 0; i < count; i++) {
+						int slot = KeyTable.slot(distinctKeys[i], 0, distinctKeys[i].length(), seed, size - 1, ignoreCase);
+						if(table[slot] != null) {
+							continue SEEDS;
+						}
+						
+						table[slot] = distinctKeys[i];
+						tableIndexes[slot] = distinctIndexes[i];
+					}
+					
+					return new KeyTable(table, tableIndexes, seed, ignoreCase);
+				}
+			}
+			
+			throw new IllegalStateException("Unable to create a table for the keys " + Arrays.toString(distinctKeys));
+		}
+		
+		/* FNV-1a with the seed as the offset basis, String#hashCode is not used since keys with the same hash code would collide for every seed */
+		private static int slot(CharSequence key, int start, int end, int seed, int mask, boolean ignoreCase) {
+			int hash = seed;
+			for(int i = start; i < end; i++) {
+				hash = (hash ^ (ignoreCase ? Character.toLowerCase(key.charAt(i)) : key.charAt(i))) * 0x01000193;
+			}
+			
+			return (hash ^ (hash >>> 16)) & mask;
+		}
+		
+		private static String toLowerCase(String key) {
+			char[] characters = new char[key.length()];
+			for(int i = 0; i < characters.length; i++) {
+				characters[i] = Character.toLowerCase(key.charAt(i));
+			}
+			
+			return new String(characters);
+		}
+		
+		/**
+		 * @return the index of the key which is equal to the part of the value or -1 if there is none
+		 */
+		private int get(CharSequence value, int start, int end) {
+			if(this.keys.length == 0) {
+				return -1;
+			}
+			
+			int slot = KeyTable.slot(value, start, end, this.seed, this.keys.length - 1, this.ignoreCase);
+			
+			String key = this.keys[slot];
+			if(key == null || key.length() != end - start) {
+				return -1;
+			}
+			
+			for(int i = 0; i < key.length(); i++) {
+				char character = value.charAt(start + i);
+				if(key.charAt(i) != (this.ignoreCase ? Character.toLowerCase(character) : character)) {
+					return -1;
+				}
+			}
+			
+			return this.indexes[slot];
+		}
+	}
+	
+	private final ICommand command;
+	
+	private final IArgument<?>[] arguments;
+	private final int[] flags;
+	
+	private final IOption[] options;
+	
+	/* Option names and aliases (ignoring case) to the index of the option */
+	private final KeyTable optionTable;
+	
+	/* Argument names to the index of the argument, used for key-value content */
+	private final KeyTable argumentTable;
+	
+	private final InvalidOptionPolicy optionPolicy;
+	private final ContentOverflowPolicy overflowPolicy;
+	
+	private final int minimumTokens;
+	private final int maximumTokens;
+	
+	public ParsePlan(ICommand command) {
+		this(command, null);
+	}
+	
+	/**
+	 * @param options a plan for a command with the same options to share the option table with,
+	 * this is used by {@link DummyCommand} which has the options of its parent, may be null
+	 */
+	public ParsePlan(ICommand command, ParsePlan options) {
+		this.command = command;
+		this.arguments = command.getArguments().clone();
+		this.flags = new int[this.arguments.length];
+		
+		String[] names = new String[this.arguments.length];
+		int[] nameIndexes = new int[this.arguments.length];
+		
+		int minimumTokens = 0;
+		boolean bounded = true;
+		
+		for(int i = 0; i < this.arguments.length; i++) {
+			IArgument<?> argument = this.arguments[i];
+			
+			int flags = 0;
+			if(argument.isEndless()) {
+				flags |= ParsePlan.FLAG_ENDLESS;
+				
+				bounded = false;
+			}
+			
+			if(argument instanceof IEndlessArgument) {
+				flags |= ParsePlan.FLAG_ENDLESS_ARGUMENT;
+			}
+			
+			if(argument.acceptQuote()) {
+				flags |= ParsePlan.FLAG_ACCEPT_QUOTE;
+			}
+			
+			if(argument.acceptEmpty()) {
+				flags |= ParsePlan.FLAG_ACCEPT_EMPTY;
+			}else{
+				/* Every argument which does not accept empty content needs at least one token of its own */
+				minimumTokens++;
+			}
+			
+			this.flags[i] = flags;
+			
+			names[i] = argument.getName();
+			nameIndexes[i] = i;
+		}
+		
+		this.argumentTable = KeyTable.of(names, nameIndexes, false);
+		
+		this.overflowPolicy = command.getContentOverflowPolicy();
+		
+		this.minimumTokens = minimumTokens;
+		/* Content which can not be parsed is only a failure if the command does not ignore it */
+		this.maximumTokens = (bounded && this.overflowPolicy == ContentOverflowPolicy.FAIL) ? this.arguments.length : -1;
+		
+		this.optionPolicy = command.getInvalidOptionPolicy();
+		
+		if(options != null) {
+			this.options = options.options;
+			this.optionTable = options.optionTable;
+			
+			return;
+		}
+		
+		this.options = command.getOptions().clone();
+		
+		int keyCount = 0;
+		for(IOption option : this.options) {
+			keyCount += 1 + option.getAliases().length;
+		}
+		
+		String[] keys = new String[keyCount];
+		int[] indexes = new int[keyCount];
+		
+		for(int i = 0, j = 0; i < this.options.length; i++) {
+			keys[j] = this.options[i].getName();
+			indexes[j++] = i;
+			
+			for(String alias : this.options[i].getAliases()) {
+				keys[j] = alias;
+				indexes[j++] = i;
+			}
+		}
+		
+		this.optionTable = KeyTable.of(keys, indexes, true);
+	}
+	
+	public ICommand getCommand() {
+		return this.command;
+	}
+	
+	/**
+	 * @return the arguments of the command, this array should not be modified
+	 */
+	public IArgument<?>[] getArguments() {
+		return this.arguments;
+	}
+	
+	public int getArgumentCount() {
+		return this.arguments.length;
+	}
+	
+	/**
+	 * @return whether or not the argument at the index has the flag, for instance {@link #FLAG_ENDLESS}
+	 */
+	public boolean hasFlag(int index, int flag) {
+		return (this.flags[index] & flag) != 0;
+	}
+	
+	/**
+	 * @return the options of the command, this array should not be modified
+	 */
+	public IOption[] getOptions() {
+		return this.options;
+	}
+	
+	/**
+	 * @return the index of the option which has the name or alias (ignoring case) or -1 if there is none
+	 */
+	public int getOptionIndex(String name) {
+		return this.getOptionIndex(name, 0, name.length());
+	}
+	
+	/**
+	 * @param start the index of the first character of the name in the value
+	 * @param end the index after the last character of the name in the value
+	 * 
+	 * @return the index of the option which has the name or alias (ignoring case) or -1 if there is none
+	 */
+	public int getOptionIndex(CharSequence value, int start, int end) {
+		return this.optionTable.get(value, start, end);
+	}
+	
+	/**
+	 * @param developer whether or not the user is a developer, developer options can only be used by developers
+	 * 
+	 * @return the index of the option which has the name or alias (ignoring case) or -1 if there is none or if it can not be used
+	 */
+	public int getOptionIndex(CharSequence value, int start, int end, boolean developer) {
+		int index = this.getOptionIndex(value, start, end);
+		if(index != -1 && !developer && this.options[index].isDeveloperOption()) {
+			return -1;
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * @param developer whether or not the user is a developer, developer options are only returned for developers
+	 *
+	 * @return the option which has the name or alias (ignoring case) or null if there is none
+	 */
+	public IOption getOption(String name, boolean developer) {
+		int index = this.getOptionIndex(name, 0, name.length(), developer);
+		
+		return (index != -1) ? this.options[index] : null;
+	}
+	
+	/**
+	 * @param start the index of the first character of the name in the value
+	 * @param end the index after the last character of the name in the value
+	 * 
+	 * @return the index of the argument which has the name or -1 if there is none
+	 */
+	public int getArgumentIndex(CharSequence value, int start, int end) {
+		return this.argumentTable.get(value, start, end);
+	}
+	
+	public InvalidOptionPolicy getInvalidOptionPolicy() {
+		return this.optionPolicy;
+	}
+	
+	public ContentOverflowPolicy getContentOverflowPolicy() {
+		return this.overflowPolicy;
+	}
+	
+	/**
+	 * @return the least amount of space separated tokens the content has to have for the command to be able to match
+	 */
+	public int getMinimumTokens() {
+		return this.minimumTokens;
+	}
+	
+	/**
+	 * @return the most amount of space separated tokens the content can have for the command to be able to match or -1 if there is no limit,
+	 * this only applies to content which does not contain any quotes, brackets or key-value pairs since they can make one argument out of several tokens
+	 */
+	public int getMaximumTokens() {
+		return this.maximumTokens;
+	}
+	
+	/**
+	 * @param content the content after the command trigger (and options)
+	 *
+	 * @return whether or not the content has an amount of tokens this command can take,
+	 * if this is false there is no reason to parse the arguments since they would not match anyway. 
+	 * The {@link CommandListener} still parses skipped commands if no other command matches, 
+	 * this way the failures given to the help are the same as they would be without skipping them
+	 */
+	public boolean isTokenCountValid(String content) {
+		int tokens = 0;
+		
+		/* Quotes, brackets and key-value pairs can make one argument out of several tokens */
+		boolean bounded = this.maximumTokens != -1;
+		
+		boolean token = false;
+		for(int i = 0; i < content.length(); i++) {
+			char character = content.charAt(i);
+			
+			if(character == ' ') {
+				token = false;
+				
+				continue;
+			}
+			
+			if(!token) {
+				token = true;
+				tokens++;
+			}
+			
+			if(character == '"' || character == '[' || character == '=') {
+				bounded = false;
+			}
+		}
+		
+		if(tokens < this.minimumTokens) {
+			return false;
+		}
+		
+		return !bounded || tokens <= this.maximumTokens;
+	}
+}
\ No newline at end of file
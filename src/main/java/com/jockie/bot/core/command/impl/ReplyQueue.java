@@ -0,0 +1,374 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import net.dv8tion.jda.core.MessageBuilder;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.MessageChannel;
+import net.dv8tion.jda.core.utils.Checks;
+
+/**
+ * Queues replies per channel so that only one message is being sent to a channel at a time,
+ * replies which are queued while another one is being sent are sent after it instead of all of them hitting the rate limit of the channel at once.
+ * </br></br>
+ * Plain text replies which are waiting to be sent are combined in to a single message as long as it fits,
+ * notices (such as cooldown or help messages) are dropped if the same notice has already been queued for the same user in the channel recently,
+ * see {@link #queueNotice(MessageChannel, String, long, CharSequence)}
+ */
+public class ReplyQueue {
+	
+	public static final IReplySink DEFAULT_SINK = (channel, message, callback) -> {
+		channel.sendMessage(message).queue(sent -> callback.accept(null), callback::accept);
+	};
+	
+	/** The maximum amount of replies which can be waiting to be sent to a channel by default */
+	public static final int DEFAULT_MAXIMUM_PENDING = 16;
+	
+	/** How long a notice is not sent again for by default, in milliseconds */
+	public static final long DEFAULT_NOTICE_WINDOW = TimeUnit.SECONDS.toMillis(5);
+	
+	private static class Reply {
+		
+		/* Null if the reply is plain text */
+		private final Message message;
+		
+		/* Only set if the reply is plain text, which means that it can be combined with other plain text replies */
+		private final String text;
+		
+		private Reply(Message message, String text) {
+			this.message = message;
+			this.text = text;
+		}
+	}
+	
+	private static class NoticeKey {
+		
+		private final long channelId, userId;
+		
+		private final String notice;
+		
+		private NoticeKey(long channelId, long userId, String notice) {
+			this.channelId = channelId;
+			this.userId = userId;
+			this.notice = notice;
+		}
+		
+		public boolean equals(Object object) {
+			if(!(object instanceof NoticeKey)) {
+				return false;
+			}
+			
+			NoticeKey other = (NoticeKey) object;
+			
+			return this.channelId == other.channelId && this.userId == other.userId && this.notice.equals(other.notice);
+		}
+		
+		public int hashCode() {
+			return (Long.hashCode(this.channelId) * 31 + Long.hashCode(this.userId)) * 31 + this.notice.hashCode();
+		}
+	}
+	
+	private static class ChannelQueue {
+		
+		private final long channelId;
+		
+		private final ArrayDeque<Reply> pending = new ArrayDeque<>();
+		
+		private MessageChannel channel;
+		
+		private boolean sending;
+		
+		/* Set once the queue has been removed, anything added after that would never be sent */
+		private boolean removed;
+		
+		private ChannelQueue(long channelId) {
+			this.channelId = channelId;
+		}
+	}
+	
+	private final Map<Long, ChannelQueue> channels = new ConcurrentHashMap<>();
+	
+	/* When each notice was last queued, these are kept apart from the channel queues so that the queues can be removed as soon as they are empty */
+	private final Map<NoticeKey, Long> notices = new ConcurrentHashMap<>();
+	
+	/* Expired notices are removed at most once per notice window, when the next notice is queued */
+	private volatile long nextExpire;
+	
+	private IReplySink sink = ReplyQueue.DEFAULT_SINK;
+	
+	private boolean coalesce = true;
+	
+	private int maximumPending = ReplyQueue.DEFAULT_MAXIMUM_PENDING;
+	
+	private long noticeWindow = ReplyQueue.DEFAULT_NOTICE_WINDOW;
+	
+	public ReplyQueue setSink(IReplySink sink) {
+		Checks.notNull(sink, "Sink");
+		
+		this.sink = sink;
+		
+		return this;
+	}
+	
+	public IReplySink getSink() {
+		return this.sink;
+	}
+	
+	/**
+	 * @param coalesce whether or not plain text replies waiting to be sent should be combined in to a single message
+	 */
+	public ReplyQueue setCoalesce(boolean coalesce) {
+		this.coalesce = coalesce;
+		
+		return this;
+	}
+	
+	public boolean isCoalesce() {
+		return this.coalesce;
+	}
+	
+	/**
+	 * @param maximumPending the maximum amount of replies which can be waiting to be sent to a channel, anything queued after that is dropped
+	 */
+	public ReplyQueue setMaximumPending(int maximumPending) {
+		Checks.positive(maximumPending, "Maximum pending");
+		
+		this.maximumPending = maximumPending;
+		
+		return this;
+	}
+	
+	public int getMaximumPending() {
+		return this.maximumPending;
+	}
+	
+	/**
+	 * @param noticeWindow how long a notice should not be sent again for after it has been queued, in milliseconds
+	 */
+	public ReplyQueue setNoticeWindow(long noticeWindow) {
+		this.noticeWindow = noticeWindow;
+		
+		return this;
+	}
+	
+	public ReplyQueue setNoticeWindow(long noticeWindow, TimeUnit unit) {
+		return this.setNoticeWindow(unit.toMillis(noticeWindow));
+	}
+	
+	public long getNoticeWindow() {
+		return this.noticeWindow;
+	}
+	
+	/**
+	 * @return whether or not the reply was queued, it is not queued if there are already {@link #getMaximumPending()} replies waiting to be sent to the channel
+	 */
+	public boolean queue(MessageChannel channel, CharSequence text) {
+		return this.queue(channel, null, text, null);
+	}
+	
+	/**
+	 * @return whether or not the reply was queued, it is not queued if there are already {@link #getMaximumPending()} replies waiting to be sent to the channel
+	 */
+	public boolean queue(MessageChannel channel, Message message) {
+		return this.queue(channel, message, null, null);
+	}
+	
+	/**
+	 * Queues a notice, such as a cooldown or help message, which is dropped if the same notice has been queued for the user in the channel within the {@link #getNoticeWindow()}
+	 *
+	 * @param notice the type of the notice, for instance <b>cooldown</b>
+	 * @param userId the id of the user the notice is for
+	 *
+	 * @return whether or not the notice was queued
+	 */
+	public boolean queueNotice(MessageChannel channel, String notice, long userId, CharSequence text) {
+		Checks.notNull(channel, "Channel");
+		Checks.notNull(notice, "Notice");
+		
+		return this.queue(channel, null, text, new NoticeKey(channel.getIdLong(), userId, notice));
+	}
+	
+	/**
+	 * Queues a notice, such as a cooldown or help message, which is dropped if the same notice has been queued for the user in the channel within the {@link #getNoticeWindow()}
+	 *
+	 * @param notice the type of the notice, for instance <b>help</b>
+	 * @param userId the id of the user the notice is for
+	 *
+	 * @return whether or not the notice was queued
+	 */
+	public boolean queueNotice(MessageChannel channel, String notice, long userId, Message message) {
+		Checks.notNull(channel, "Channel");
+		Checks.notNull(notice, "Notice");
+		
+		return this.queue(channel, message, null, new NoticeKey(channel.getIdLong(), userId, notice));
+	}
+	
+	private boolean queue(MessageChannel channel, Message message, CharSequence text, NoticeKey notice) {
+		Checks.notNull(channel, "Channel");
+		
+		if(message == null) {
+			Checks.notEmpty(text, "Text");
+			Checks.check(text.length() <= Message.MAX_CONTENT_LENGTH, "Text may not be longer than " + Message.MAX_CONTENT_LENGTH + " characters");
+		}
+		
+		Reply reply = new Reply(message, (text != null) ? text.toString() : null);
+		
+		long now = 0L;
+		if(notice != null) {
+			now = System.currentTimeMillis();
+			
+			if(now >= this.nextExpire) {
+				this.expireNotices(now);
+			}
+		}
+		
+		while(true) {
+			ChannelQueue queue = this.channels.computeIfAbsent(channel.getIdLong(), ChannelQueue::new);
+			
+			synchronized(queue) {
+				if(queue.removed) {
+					continue;
+				}
+				
+				/* Notices for the channel are only changed while holding the lock of its queue */
+				if(notice != null) {
+					Long queued = this.notices.get(notice);
+					if(queued != null && now - queued < this.noticeWindow) {
+						return false;
+					}
+				}
+				
+				if(queue.pending.size() >= this.maximumPending) {
+					return false;
+				}
+				
+				queue.channel = channel;
+				queue.pending.add(reply);
+				
+				/* Only recorded once the notice has actually been queued, a dropped notice should not hold back the next one */
+				if(notice != null) {
+					this.notices.put(notice, now);
+				}
+				
+				if(queue.sending) {
+					return true;
+				}
+				
+				queue.sending = true;
+			}
+			
+			this.sendNext(queue);
+			
+			return true;
+		}
+	}
+	
+	private void sendNext(ChannelQueue queue) {
+		MessageChannel channel;
+		
+		Reply reply;
+		StringBuilder combined = null;
+		
+		synchronized(queue) {
+			reply = queue.pending.poll();
+			if(reply == null) {
+				queue.sending = false;
+				
+				this.remove(queue);
+				
+				return;
+			}
+			
+			channel = queue.channel;
+			
+			if(reply.text != null && this.coalesce) {
+				Reply next;
+				while((next = queue.pending.peek()) != null && next.text != null) {
+					int length = (combined != null) ? combined.length() : reply.text.length();
+					if(length + 1 + next.text.length() > Message.MAX_CONTENT_LENGTH) {
+						break;
+					}
+					
+					if(combined == null) {
+						combined = new StringBuilder(reply.text);
+					}
+					
+					combined.append('\n').append(next.text);
+					
+					queue.pending.poll();
+				}
+			}
+		}
+		
+		Message message;
+		if(reply.message != null) {
+			message = reply.message;
+		}else{
+			message = new MessageBuilder((combined != null) ? combined : reply.text).build();
+		}
+		
+		try {
+			this.sink.send(channel, message, (failure) -> {
+				if(failure != null) {
+					failure.printStackTrace();
+				}
+				
+				this.sendNext(queue);
+			});
+		}catch(Exception e) {
+			e.printStackTrace();
+			
+			this.sendNext(queue);
+		}
+	}
+	
+	/* Removes the queue of a channel once nothing is waiting to be sent to it */
+	private void remove(ChannelQueue queue) {
+		queue.removed = true;
+		
+		this.channels.remove(queue.channelId, queue);
+	}
+	
+	private void expireNotices(long now) {
+		this.nextExpire = now + this.noticeWindow;
+		
+		for(Map.Entry<NoticeKey, Long> entry : this.notices.entrySet()) {
+			long queued = entry.getValue();
+			if(now - queued >= this.noticeWindow) {
+				/* Only removed if it has not been queued again in the meantime */
+				this.notices.remove(entry.getKey(), queued);
+			}
+		}
+	}
+	
+	/**
+	 * @return the amount of notices which have been queued within the {@link #getNoticeWindow()}, including ones which have not been removed since they expired
+	 */
+	public int getNoticeCount() {
+		return this.notices.size();
+	}
+	
+	/**
+	 * @return the amount of channels which have replies waiting to be sent or being sent
+	 */
+	public int getChannelCount() {
+		return this.channels.size();
+	}
+	
+	/**
+	 * @return the amount of replies waiting to be sent to the channel, not including the one which is being sent
+	 */
+	public int getPendingCount(MessageChannel channel) {
+		ChannelQueue queue = this.channels.get(channel.getIdLong());
+		if(queue == null) {
+			return 0;
+		}
+		
+		synchronized(queue) {
+			return queue.pending.size();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.jockie.bot.core.command.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.jockie.bot.core.argument.EntityBatch;
+import com.jockie.bot.core.argument.MemberBatch;
+import com.jockie.bot.core.cooldown.ICooldown.Scope;
+
+import net.dv8tion.jda.core.entities.ISnowflake;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+
+/**
+ * A cache of the results (a {@link net.dv8tion.jda.core.entities.Message Message}, {@link net.dv8tion.jda.core.entities.MessageEmbed MessageEmbed}
+ * or {@link CharSequence}) of a {@link MethodCommand}, when the same arguments and options are used again in the same scope
+ * the cached result is sent without executing the command.
+ * </br></br>
+ * This should only be used for commands which always give the same result for the same arguments (such as info commands),
+ * anything else the command uses, for instance the author, has to be part of the scope.
+ * </br></br>
+ * Entities are stored by their id (members together with the id of their guild) so that the cache does not keep them from being garbage collected,
+ * the least recently used entry is removed once the cache is full
+ */
+public class ResultCache {
+	
+	public static class Key {
+		
+		private final String contextKey;
+		private final Object[] arguments;
+		
+		private final int hashCode;
+		
+		private Key(String contextKey, Object[] arguments) {
+			this.contextKey = contextKey;
+			this.arguments = arguments;
+			
+			this.hashCode = 31 * contextKey.hashCode() + Arrays.deepHashCode(arguments);
+		}
+		
+		/**
+		 * @return the context key of the scope the result was cached in, see {@link Scope#getContextKey(MessageReceivedEvent)}
+		 */
+		public String getContextKey() {
+			return this.contextKey;
+		}
+		
+		/**
+		 * @return the normalized arguments followed by the options, entities are replaced by their ids
+		 */
+		public Object[] getArguments() {
+			return this.arguments.clone();
+		}
+		
+		public int hashCode() {
+			return this.hashCode;
+		}
+		
+		public boolean equals(Object object) {
+			if(!(object instanceof Key)) {
+				return false;
+			}
+			
+			Key key = (Key) object;
+			
+			return this.hashCode == key.hashCode && this.contextKey.equals(key.contextKey) && Arrays.deepEquals(this.arguments, key.arguments);
+		}
+	}
+	
+	private static class Entry {
+		
+		private final Object result;
+		private final long expires;
+		
+		private Entry(Object result, long expires) {
+			this.result = result;
+			this.expires = expires;
+		}
+	}
+	
+	/** The maximum amount of results cached by default */
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+	
+	/* Replaces everything which should not be kept alive or compared by reference */
+	private static Object normalize(Object argument) {
+		/* Members and member batches share their ids with other guilds so the guild is kept as part of them */
+		if(argument instanceof Member) {
+			Member member = (Member) argument;
+			
+			return new long[] { member.getGuild().getIdLong(), member.getUser().getIdLong() };
+		}else if(argument instanceof MemberBatch) {
+			MemberBatch batch = (MemberBatch) argument;
+			
+			return new Object[] { batch.getGuild().getIdLong(), batch.getIds() };
+		}else if(argument instanceof ISnowflake) {
+			return ((ISnowflake) argument).getIdLong();
+		}else if(argument instanceof EntityBatch) {
+			return ((EntityBatch<?>) argument).getIds();
+		}else if(argument instanceof CharSequence) {
+			return argument.toString();
+		}else if(argument instanceof Object[]) {
+			Object[] array = (Object[]) argument;
+			
+			Object[] normalized = new Object[array.length];
+			for(int i = 0; i < array.length; i++) {
+				normalized[i] = ResultCache.normalize(array[i]);
+			}
+			
+			return normalized;
+		}else if(argument instanceof Collection) {
+			return ResultCache.normalize(((Collection<?>) argument).toArray());
+		}
+		
+		return argument;
+	}
+	
+	private final long duration;
+	
+	private final Scope scope;
+	
+	private final int maximumSize;
+	
+	private final LinkedHashMap<Key, Entry> entries;
+	
+	/**
+	 * @param duration how long a result should be cached for, in milliseconds
+	 * @param scope the scope results are cached in, {@link Scope#GLOBAL} shares them between everyone
+	 * @param maximumSize the maximum amount of results to cache
+	 */
+	public ResultCache(long duration, Scope scope, int maximumSize) {
+		if(duration <= 0) {
+			throw new IllegalArgumentException("Duration has to be larger than 0");
+		}
+		
+		if(maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size has to be larger than 0");
+		}
+		
+		this.duration = duration;
+		this.scope = scope;
+		this.maximumSize = maximumSize;
+		
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+			
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return this.size() > ResultCache.this.maximumSize;
+			}
+		};
+	}
+	
+	public ResultCache(long duration, TimeUnit unit, Scope scope, int maximumSize) {
+		this(unit.toMillis(duration), scope, maximumSize);
+	}
+	
+	/**
+	 * @return how long a result is cached for, in milliseconds
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+	
+	public Scope getScope() {
+		return this.scope;
+	}
+	
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+	
+	/**
+	 * @return the key the result of the command would be cached by
+	 */
+	public Key createKey(MessageReceivedEvent event, CommandEvent commandEvent, Object[] arguments) {
+		OptionSet options = commandEvent.getOptions();
+		
+		Object[] normalized;
+		if(options.isEmpty()) {
+			normalized = (Object[]) ResultCache.normalize(arguments);
+		}else{
+			/* Options change the result as much as the arguments */
+			List<String> names = options.getNames();
+			
+			normalized = (Object[]) ResultCache.normalize(Arrays.copyOf(arguments, arguments.length + names.size() * 2));
+			
+			for(int i = 0, index = arguments.length; i < names.size(); i++) {
+				normalized[index++] = names.get(i);
+				normalized[index++] = options.getValue(names.get(i));
+			}
+		}
+		
+		return new Key(this.scope.getContextKey(event), normalized);
+	}
+	
+	/**
+	 * @return the cached result or null if there is none or if it has expired
+	 */
+	public synchronized Object get(Key key) {
+		Entry entry = this.entries.get(key);
+		if(entry == null) {
+			return null;
+		}
+		
+		if(entry.expires - System.currentTimeMillis() <= 0) {
+			this.entries.remove(key);
+			
+			return null;
+		}
+		
+		return entry.result;
+	}
+	
+	public synchronized void put(Key key, Object result) {
+		this.entries.put(key, new Entry((result instanceof CharSequence) ? result.toString() : result, System.currentTimeMillis() + this.duration));
+	}
+	
+	/**
+	 * Removes all the results cached in the scope, for instance <b>g:id</b> for a guild when the scope is {@link Scope#GUILD}
+	 *
+	 * @param contextKey the context key of the scope, see {@link Scope#getContextKey(MessageReceivedEvent)}
+	 */
+	public void invalidate(String contextKey) {
+		this.invalidate(key -> key.contextKey.equals(contextKey));
+	}
+	
+	/**
+	 * Removes all the results which match the predicate
+	 */
+	public synchronized void invalidate(Predicate<Key> predicate) {
+		Iterator<Key> iterator = this.entries.keySet().iterator();
+		while(iterator.hasNext()) {
+			if(predicate.test(iterator.next())) {
+				iterator.remove();
+			}
+		}
+	}
+	
+	public synchronized void invalidateAll() {
+		this.entries.clear();
+	}
+	
+	/**
+	 * @return the amount of cached results, including those which have expired but have not been removed yet
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+}
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.jockie.bot.core.utility;
 
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import net.dv8tion.jda.core.JDA;
@@ -26,116 +26,289 @@ public class ArgumentUtility {
 	public static final Pattern USER_NAME_PATTERN = Pattern.compile(".{2,32}#[0-9]{4}");
 	public static final Pattern ID_PATTERN = Pattern.compile("\\d+");
 	
-	private static String getGroup(Pattern pattern, int group, String value) {
-		Matcher matcher = pattern.matcher(value);
-		if(matcher.find()) {
-			return matcher.group(group);
+	private static MemberIndex memberIndex;
+	
+	/**
+	 * Set the index used to find members by name, the index also has to be registered as an event listener to be kept up to date
+	 * 
+	 * @param memberIndex the index to use or null to go through the members of the guild instead
+	 */
+	public static void setMemberIndex(MemberIndex memberIndex) {
+		ArgumentUtility.memberIndex = memberIndex;
+	}
+	
+	public static MemberIndex getMemberIndex() {
+		return ArgumentUtility.memberIndex;
+	}
+	
+	private static GuildEntityIndex entityIndex;
+	
+	/**
+	 * Set the index used to find and search for roles, text channels and emotes by name, the index also has to be registered as an event listener to be kept up to date
+	 * 
+	 * @param entityIndex the index to use or null to go through the entities of the guild instead
+	 */
+	public static void setEntityIndex(GuildEntityIndex entityIndex) {
+		ArgumentUtility.entityIndex = entityIndex;
+	}
+	
+	public static GuildEntityIndex getEntityIndex() {
+		return ArgumentUtility.entityIndex;
+	}
+	
+	/* Used when there is no index, only names starting with the value are matched */
+	private static <T> T getByUniquePrefix(List<T> entities, Function<T, String> nameFunction, String value) {
+		String prefix = NameIndex.fold(value);
+		
+		T match = null;
+		for(T entity : entities) {
+			if(NameIndex.fold(nameFunction.apply(entity)).startsWith(prefix)) {
+				if(match != null) {
+					return null;
+				}
+				
+				match = entity;
+			}
 		}
 		
-		return null;
+		return match;
 	}
 	
-	public static Role getRole(Guild guild, String value) {
-		String id = ArgumentUtility.getGroup(MentionType.ROLE.getPattern(), 1, value);
+	/**
+	 * Parses the value as a snowflake (id) without creating a matcher or throwing an exception
+	 * 
+	 * @return the id or -1 if the value is not a valid snowflake
+	 */
+	public static long parseSnowflake(String value) {
+		return ArgumentUtility.parseSnowflake(value, 0, value.length());
+	}
+	
+	/**
+	 * Parses the content between start and end as a snowflake (id) without creating a matcher or throwing an exception
+	 * 
+	 * @return the id or -1 if the content is not a valid snowflake
+	 */
+	public static long parseSnowflake(CharSequence value, int start, int end) {
+		if(start >= end) {
+			return -1L;
+		}
+		
+		long id = 0;
+		for(int i = start; i < end; i++) {
+			char character = value.charAt(i);
+			if(character < '0' || character > '9') {
+				return -1L;
+			}
+			
+			int digit = character - '0';
+			if(id > (Long.MAX_VALUE - digit) / 10) {
+				return -1L;
+			}
+			
+			id = id * 10 + digit;
+		}
+		
+		return id;
+	}
+	
+	private static boolean isEmoteNameCharacter(char character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || character == '_';
+	}
+	
+	/* Matches the mention starting at start (which is a '<'), the same as MentionType#getPattern but without backtracking or creating any objects */
+	private static long getMentionId(String value, int start, MentionType type, boolean whole) {
+		int length = value.length(), i = start + 1;
+		
+		switch(type) {
+			case USER: {
+				if(i >= length || value.charAt(i++) != '@') {
+					return -1L;
+				}
+				
+				if(i < length && value.charAt(i) == '!') {
+					i++;
+				}
+				
+				break;
+			}
+			case ROLE: {
+				if(i + 1 >= length || value.charAt(i) != '@' || value.charAt(i + 1) != '&') {
+					return -1L;
+				}
+				
+				i += 2;
+				
+				break;
+			}
+			case CHANNEL: {
+				if(i >= length || value.charAt(i++) != '#') {
+					return -1L;
+				}
+				
+				break;
+			}
+			case EMOTE: {
+				if(i < length && value.charAt(i) == 'a') {
+					i++;
+				}
+				
+				if(i >= length || value.charAt(i++) != ':') {
+					return -1L;
+				}
+				
+				int nameStart = i;
+				while(i < length && ArgumentUtility.isEmoteNameCharacter(value.charAt(i))) {
+					i++;
+				}
+				
+				if(i == nameStart || i >= length || value.charAt(i++) != ':') {
+					return -1L;
+				}
+				
+				break;
+			}
+			default: {
+				return -1L;
+			}
+		}
+		
+		int idStart = i;
+		while(i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+			i++;
+		}
+		
+		if(i == idStart || i >= length || value.charAt(i) != '>' || (whole && i != length - 1)) {
+			return -1L;
+		}
+		
+		return ArgumentUtility.parseSnowflake(value, idStart, i);
+	}
+	
+	/**
+	 * Finds the first mention of the type in the value, this is the same as the first match of {@link MentionType#getPattern()} 
+	 * but without a matcher and with the id parsed straight away. 
+	 * The supported types are USER (&lt;@id&gt; and &lt;@!id&gt;), ROLE (&lt;@&amp;id&gt;), CHANNEL (&lt;#id&gt;) and EMOTE (&lt;:name:id&gt; and &lt;a:name:id&gt;)
+	 * 
+	 * @return the id of the mention or -1 if there is none
+	 */
+	public static long getMentionId(String value, MentionType type) {
+		for(int start = value.indexOf('<'); start != -1; start = value.indexOf('<', start + 1)) {
+			long id = ArgumentUtility.getMentionId(value, start, type, false);
+			if(id != -1L) {
+				return id;
+			}
+		}
 		
-		if(id != null) {
+		return -1L;
+	}
+	
+	/**
+	 * @return the id of the first mention of the type in the value or, if there is none, the value as a snowflake (-1 if it is neither)
+	 */
+	public static long getId(String value, MentionType type) {
+		long id = ArgumentUtility.getMentionId(value, type);
+		if(id == -1L) {
+			id = ArgumentUtility.parseSnowflake(value);
+		}
+		
+		return id;
+	}
+	
+	public static Role getRole(Guild guild, String value) {
+		long id = ArgumentUtility.getId(value, MentionType.ROLE);
+		if(id != -1L) {
 			return guild.getRoleById(id);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getRoleById(value);
 		}
 		
 		return null;
 	}
 	
 	public static Member getMember(Guild guild, String value) {
-		String id = ArgumentUtility.getGroup(MentionType.USER.getPattern(), 1, value);
-		
-		if(id != null) {
+		long id = ArgumentUtility.getId(value, MentionType.USER);
+		if(id != -1L) {
 			return guild.getMemberById(id);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getMemberById(value);
 		}
 		
 		return null;
 	}
 	
 	public static TextChannel getTextChannel(Guild guild, String value) {
-		String id = ArgumentUtility.getGroup(MentionType.CHANNEL.getPattern(), 1, value);
-		
-		if(id != null) {
+		long id = ArgumentUtility.getId(value, MentionType.CHANNEL);
+		if(id != -1L) {
 			return guild.getTextChannelById(id);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getTextChannelById(value);
 		}
 		
 		return null;
 	}
 	
 	public static Emote getEmote(Guild guild, String value) {
-		Matcher matcher = MentionType.EMOTE.getPattern().matcher(value);
-		
 		Emote emote = null;
-		if(matcher.matches()) {
-			emote = guild.getEmoteById(matcher.group(2));
+		
+		long id = (value.length() > 0 && value.charAt(0) == '<') ? ArgumentUtility.getMentionId(value, 0, MentionType.EMOTE, true) : -1L;
+		if(id != -1L) {
+			emote = guild.getEmoteById(id);
 			
 			if(emote == null) {
-				emote = new EmoteImpl(Long.parseLong(matcher.group(2)), (JDAImpl) guild.getJDA()).setName(matcher.group(1)).setAnimated(value.startsWith("<a:"));
+				/* The name is only needed for emotes which are not in the guild */
+				String name = value.substring(value.indexOf(':') + 1, value.lastIndexOf(':'));
+				
+				emote = new EmoteImpl(id, (JDAImpl) guild.getJDA()).setName(name).setAnimated(value.startsWith("<a:"));
 			}
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			emote = guild.getEmoteById(value);
+		}else if((id = ArgumentUtility.parseSnowflake(value)) != -1L) {
+			emote = guild.getEmoteById(id);
 		}
 		
 		return emote;
 	}
 	
 	public static User getUser(JDA jda, String value) {
-		String id = ArgumentUtility.getGroup(MentionType.USER.getPattern(), 1, value);
-		
-		if(id != null) {
+		long id = ArgumentUtility.getId(value, MentionType.USER);
+		if(id != -1L) {
 			return jda.getUserById(id);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return jda.getUserById(value);
 		}
 		
 		return null;
 	}
 	
 	public static RestAction<User> retrieveUser(JDA jda, String value) {
-		String id = ArgumentUtility.getGroup(MentionType.USER.getPattern(), 1, value);
-		
-		if(id != null) {
+		long id = ArgumentUtility.getId(value, MentionType.USER);
+		if(id != -1L) {
 			return jda.retrieveUserById(id);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return jda.retrieveUserById(value);
 		}
 		
 		return new EmptyRestAction<User>(jda, null);
 	}
 	
 	public static Member getMemberByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		String processed = ArgumentUtility.getGroup(MentionType.USER.getPattern(), 1, value);
-		
-		if(processed != null) {
-			return guild.getMemberById(processed);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getMemberById(value);
+		long id = ArgumentUtility.getId(value, MentionType.USER);
+		if(id != -1L) {
+			return guild.getMemberById(id);
 		}
 		
+		MemberIndex index = ArgumentUtility.memberIndex;
+		
 		if(USER_NAME_PATTERN.matcher(value).matches()) {
-			for(Member member : guild.getMembers()) {
-				if(ignoreCase) {
-					if((member.getUser().getName() + "#" + member.getUser().getDiscriminator()).equalsIgnoreCase(value)) {
-						return member;
-					}
-				}else{
-					if((member.getUser().getName() + "#" + member.getUser().getDiscriminator()).equals(value)) {
-						return member;
+			if(index != null) {
+				Member member = index.getMemberByTag(guild, value, ignoreCase);
+				if(member != null) {
+					return member;
+				}
+			}else{
+				for(Member member : guild.getMembers()) {
+					if(ignoreCase) {
+						if((member.getUser().getName() + "#" + member.getUser().getDiscriminator()).equalsIgnoreCase(value)) {
+							return member;
+						}
+					}else{
+						if((member.getUser().getName() + "#" + member.getUser().getDiscriminator()).equals(value)) {
+							return member;
+						}
 					}
 				}
 			}
 		}
 		
-		List<Member> members = guild.getMembersByEffectiveName(value, ignoreCase);
+		List<Member> members = (index != null) ? index.getMembersByEffectiveName(guild, value, ignoreCase) : guild.getMembersByEffectiveName(value, ignoreCase);
 		if(members.size() == 1) {
 			return members.get(0);
 		}
@@ -143,16 +316,34 @@ public class ArgumentUtility {
 		return null;
 	}
 	
-	public static Role getRoleByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		String processed = ArgumentUtility.getGroup(MentionType.ROLE.getPattern(), 1, value);
+	/**
+	 * The same as {@link #getMemberByIdOrName(Guild, String, boolean)} (ignoring case) except that if there is no exact match 
+	 * the member with the effective name best matching the value is returned, as long as it is not ambiguous. 
+	 * Without a {@link MemberIndex} only a unique effective name starting with the value is matched
+	 */
+	public static Member getMemberByIdOrNameFuzzy(Guild guild, String value) {
+		Member member = ArgumentUtility.getMemberByIdOrName(guild, value, true);
+		if(member != null) {
+			return member;
+		}
+		
+		MemberIndex index = ArgumentUtility.memberIndex;
+		if(index != null) {
+			return index.searchMember(guild, value);
+		}
 		
-		if(processed != null) {
-			return guild.getRoleById(processed);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getRoleById(value);
+		return ArgumentUtility.getByUniquePrefix(guild.getMembers(), Member::getEffectiveName, value);
+	}
+	
+	public static Role getRoleByIdOrName(Guild guild, String value, boolean ignoreCase) {
+		long id = ArgumentUtility.getId(value, MentionType.ROLE);
+		if(id != -1L) {
+			return guild.getRoleById(id);
 		}
 		
-		List<Role> roles = guild.getRolesByName(value, ignoreCase);
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		
+		List<Role> roles = (index != null) ? index.getRolesByName(guild, value, ignoreCase) : guild.getRolesByName(value, ignoreCase);
 		if(roles.size() == 1) {
 			return roles.get(0);
 		}
@@ -160,21 +351,45 @@ public class ArgumentUtility {
 		return null;
 	}
 	
-	public static Emote getEmoteByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		Matcher matcher = MentionType.EMOTE.getPattern().matcher(value);
+	/**
+	 * The same as {@link #getRoleByIdOrName(Guild, String, boolean)} (ignoring case) except that if there is no exact match 
+	 * the role with the name best matching the value is returned, as long as it is not ambiguous. 
+	 * Without a {@link GuildEntityIndex} only a unique name starting with the value is matched
+	 */
+	public static Role getRoleByIdOrNameFuzzy(Guild guild, String value) {
+		Role role = ArgumentUtility.getRoleByIdOrName(guild, value, true);
+		if(role != null) {
+			return role;
+		}
 		
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		if(index != null) {
+			return index.searchRole(guild, value);
+		}
+		
+		return ArgumentUtility.getByUniquePrefix(guild.getRoles(), Role::getName, value);
+	}
+	
+	public static Emote getEmoteByIdOrName(Guild guild, String value, boolean ignoreCase) {
 		Emote emote = null;
-		if(matcher.matches()) {
-			emote = guild.getEmoteById(matcher.group(2));
+		
+		long id = (value.length() > 0 && value.charAt(0) == '<') ? ArgumentUtility.getMentionId(value, 0, MentionType.EMOTE, true) : -1L;
+		if(id != -1L) {
+			emote = guild.getEmoteById(id);
 			
 			if(emote == null) {
-				emote = new EmoteImpl(Long.parseLong(matcher.group(2)), (JDAImpl) guild.getJDA()).setName(matcher.group(1)).setAnimated(value.startsWith("<a:"));
+				/* The name is only needed for emotes which are not in the guild */
+				String name = value.substring(value.indexOf(':') + 1, value.lastIndexOf(':'));
+				
+				emote = new EmoteImpl(id, (JDAImpl) guild.getJDA()).setName(name).setAnimated(value.startsWith("<a:"));
 			}
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			emote = guild.getEmoteById(value);
+		}else if((id = ArgumentUtility.parseSnowflake(value)) != -1L) {
+			emote = guild.getEmoteById(id);
 		}
 		
-		List<Emote> emotes = guild.getEmotesByName(value, ignoreCase);
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		
+		List<Emote> emotes = (index != null) ? index.getEmotesByName(guild, value, ignoreCase) : guild.getEmotesByName(value, ignoreCase);
 		if(emotes.size() == 1) {
 			emote = emotes.get(0);
 		}
@@ -182,16 +397,34 @@ public class ArgumentUtility {
 		return emote;
 	}
 	
-	public static TextChannel getTextChannelByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		String processed = ArgumentUtility.getGroup(MentionType.CHANNEL.getPattern(), 1, value);
+	/**
+	 * The same as {@link #getEmoteByIdOrName(Guild, String, boolean)} (ignoring case) except that if there is no exact match 
+	 * the emote with the name best matching the value is returned, as long as it is not ambiguous. 
+	 * Without a {@link GuildEntityIndex} only a unique name starting with the value is matched
+	 */
+	public static Emote getEmoteByIdOrNameFuzzy(Guild guild, String value) {
+		Emote emote = ArgumentUtility.getEmoteByIdOrName(guild, value, true);
+		if(emote != null) {
+			return emote;
+		}
 		
-		if(processed != null) {
-			return guild.getTextChannelById(processed);
-		}else if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getTextChannelById(value);
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		if(index != null) {
+			return index.searchEmote(guild, value);
 		}
 		
-		List<TextChannel> channels = guild.getTextChannelsByName(value, ignoreCase);
+		return ArgumentUtility.getByUniquePrefix(guild.getEmotes(), Emote::getName, value);
+	}
+	
+	public static TextChannel getTextChannelByIdOrName(Guild guild, String value, boolean ignoreCase) {
+		long id = ArgumentUtility.getId(value, MentionType.CHANNEL);
+		if(id != -1L) {
+			return guild.getTextChannelById(id);
+		}
+		
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		
+		List<TextChannel> channels = (index != null) ? index.getTextChannelsByName(guild, value, ignoreCase) : guild.getTextChannelsByName(value, ignoreCase);
 		if(channels.size() == 1) {
 			return channels.get(0);
 		}
@@ -199,9 +432,29 @@ public class ArgumentUtility {
 		return null;
 	}
 	
+	/**
+	 * The same as {@link #getTextChannelByIdOrName(Guild, String, boolean)} (ignoring case) except that if there is no exact match 
+	 * the text channel with the name best matching the value is returned, as long as it is not ambiguous. 
+	 * Without a {@link GuildEntityIndex} only a unique name starting with the value is matched
+	 */
+	public static TextChannel getTextChannelByIdOrNameFuzzy(Guild guild, String value) {
+		TextChannel channel = ArgumentUtility.getTextChannelByIdOrName(guild, value, true);
+		if(channel != null) {
+			return channel;
+		}
+		
+		GuildEntityIndex index = ArgumentUtility.entityIndex;
+		if(index != null) {
+			return index.searchTextChannel(guild, value);
+		}
+		
+		return ArgumentUtility.getByUniquePrefix(guild.getTextChannels(), TextChannel::getName, value);
+	}
+	
 	public static VoiceChannel getVoiceChannelByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getVoiceChannelById(value);
+		long id = ArgumentUtility.parseSnowflake(value);
+		if(id != -1L) {
+			return guild.getVoiceChannelById(id);
 		}
 		
 		List<VoiceChannel> channels = guild.getVoiceChannelsByName(value, ignoreCase);
@@ -213,8 +466,9 @@ public class ArgumentUtility {
 	}
 	
 	public static Category getCategoryByIdOrName(Guild guild, String value, boolean ignoreCase) {
-		if(ID_PATTERN.matcher(value).matches()) {
-			return guild.getCategoryById(value);
+		long id = ArgumentUtility.parseSnowflake(value);
+		if(id != -1L) {
+			return guild.getCategoryById(id);
 		}
 		
 		List<Category> categories = guild.getCategoriesByName(value, ignoreCase);
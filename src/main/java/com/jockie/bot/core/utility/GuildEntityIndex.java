@@ -0,0 +1,271 @@
+package com.jockie.bot.core.utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import net.dv8tion.jda.core.entities.Emote;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.ISnowflake;
+import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.channel.text.TextChannelCreateEvent;
+import net.dv8tion.jda.core.events.channel.text.TextChannelDeleteEvent;
+import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdateNameEvent;
+import net.dv8tion.jda.core.events.emote.EmoteAddedEvent;
+import net.dv8tion.jda.core.events.emote.EmoteRemovedEvent;
+import net.dv8tion.jda.core.events.emote.update.EmoteUpdateNameEvent;
+import net.dv8tion.jda.core.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.core.events.role.RoleCreateEvent;
+import net.dv8tion.jda.core.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.core.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.core.hooks.EventListener;
+
+/**
+ * A searchable index of the names of the roles, text channels and emotes in each guild (members are indexed by {@link MemberIndex}),
+ * this makes it possible to find them by partial or misspelled names without going through all of them, see {@link NameIndex#search(String, int)}.
+ * </br></br>
+ * The index for each type in a guild is created the first time it is used and is kept up to date by the create, delete and name update events,
+ * which means that this has to be registered as an event listener, see {@link ArgumentUtility#setEntityIndex(GuildEntityIndex)}
+ */
+public class GuildEntityIndex implements EventListener {
+	
+	private static class Names {
+		
+		private final NameIndex index = new NameIndex(true);
+		
+		/* The name each entity was indexed by so that it can be removed even after it has changed */
+		private final Map<Long, String> keys = new HashMap<>();
+		
+		private boolean built;
+		
+		private synchronized <T extends ISnowflake> NameIndex build(List<T> entities, Function<T, String> nameFunction) {
+			if(!this.built) {
+				for(T entity : entities) {
+					this.add(entity.getIdLong(), nameFunction.apply(entity));
+				}
+				
+				this.built = true;
+			}
+			
+			return this.index;
+		}
+		
+		private void add(long id, String name) {
+			this.index.add(name, id);
+			this.keys.put(id, name);
+		}
+		
+		private void remove(long id) {
+			String name = this.keys.remove(id);
+			if(name != null) {
+				this.index.remove(name, id);
+			}
+		}
+		
+		/* Updates are only applied once the index has been built, if it has not been built yet the guild will already contain the change */
+		private synchronized void update(long id, String name) {
+			if(this.built) {
+				this.remove(id);
+				this.add(id, name);
+			}
+		}
+		
+		private synchronized void delete(long id) {
+			if(this.built) {
+				this.remove(id);
+			}
+		}
+	}
+	
+	private static class GuildEntities {
+		
+		private final Names roles = new Names();
+		private final Names textChannels = new Names();
+		private final Names emotes = new Names();
+	
+	}
+	
+	private final Map<Long, GuildEntities> guilds = new ConcurrentHashMap<>();
+	
+	private GuildEntities getGuildEntities(Guild guild) {
+		return this.guilds.computeIfAbsent(guild.getIdLong(), (id) -> new GuildEntities());
+	}
+	
+	private static <T> List<T> getEntities(long[] ids, LongFunction<T> function) {
+		if(ids.length == 0) {
+			return Collections.emptyList();
+		}
+		
+		List<T> entities = new ArrayList<>(ids.length);
+		for(long id : ids) {
+			T entity = function.apply(id);
+			if(entity != null) {
+				entities.add(entity);
+			}
+		}
+		
+		return entities;
+	}
+	
+	public NameIndex getRoleIndex(Guild guild) {
+		return this.getGuildEntities(guild).roles.build(guild.getRoles(), Role::getName);
+	}
+	
+	public NameIndex getTextChannelIndex(Guild guild) {
+		return this.getGuildEntities(guild).textChannels.build(guild.getTextChannels(), TextChannel::getName);
+	}
+	
+	public NameIndex getEmoteIndex(Guild guild) {
+		return this.getGuildEntities(guild).emotes.build(guild.getEmotes(), Emote::getName);
+	}
+	
+	private static <T> List<T> getEntitiesByName(long[] ids, LongFunction<T> function, Function<T, String> nameFunction, String name, boolean ignoreCase) {
+		List<T> entities = GuildEntityIndex.getEntities(ids, function);
+		if(!ignoreCase && !entities.isEmpty()) {
+			entities.removeIf(entity -> !nameFunction.apply(entity).equals(name));
+		}
+		
+		return entities;
+	}
+	
+	/**
+	 * @return all the roles with the name, the same as {@link Guild#getRolesByName(String, boolean)}
+	 */
+	public List<Role> getRolesByName(Guild guild, String name, boolean ignoreCase) {
+		return GuildEntityIndex.getEntitiesByName(this.getRoleIndex(guild).get(name), guild::getRoleById, Role::getName, name, ignoreCase);
+	}
+	
+	/**
+	 * @return all the text channels with the name, the same as {@link Guild#getTextChannelsByName(String, boolean)}
+	 */
+	public List<TextChannel> getTextChannelsByName(Guild guild, String name, boolean ignoreCase) {
+		return GuildEntityIndex.getEntitiesByName(this.getTextChannelIndex(guild).get(name), guild::getTextChannelById, TextChannel::getName, name, ignoreCase);
+	}
+	
+	/**
+	 * @return all the emotes with the name, the same as {@link Guild#getEmotesByName(String, boolean)}
+	 */
+	public List<Emote> getEmotesByName(Guild guild, String name, boolean ignoreCase) {
+		return GuildEntityIndex.getEntitiesByName(this.getEmoteIndex(guild).get(name), guild::getEmoteById, Emote::getName, name, ignoreCase);
+	}
+	
+	/**
+	 * @param limit the maximum amount of roles to return
+	 *
+	 * @return the roles matching the query, the best matches first
+	 */
+	public List<Role> searchRoles(Guild guild, String query, int limit) {
+		return GuildEntityIndex.getEntities(this.getRoleIndex(guild).search(query, limit), guild::getRoleById);
+	}
+	
+	/**
+	 * @return the role best matching the query or null if there is none or if it is ambiguous
+	 */
+	public Role searchRole(Guild guild, String query) {
+		long id = this.getRoleIndex(guild).searchBest(query);
+		
+		return (id != -1L) ? guild.getRoleById(id) : null;
+	}
+	
+	/**
+	 * @param limit the maximum amount of text channels to return
+	 *
+	 * @return the text channels matching the query, the best matches first
+	 */
+	public List<TextChannel> searchTextChannels(Guild guild, String query, int limit) {
+		return GuildEntityIndex.getEntities(this.getTextChannelIndex(guild).search(query, limit), guild::getTextChannelById);
+	}
+	
+	/**
+	 * @return the text channel best matching the query or null if there is none or if it is ambiguous
+	 */
+	public TextChannel searchTextChannel(Guild guild, String query) {
+		long id = this.getTextChannelIndex(guild).searchBest(query);
+		
+		return (id != -1L) ? guild.getTextChannelById(id) : null;
+	}
+	
+	/**
+	 * @param limit the maximum amount of emotes to return
+	 *
+	 * @return the emotes matching the query, the best matches first
+	 */
+	public List<Emote> searchEmotes(Guild guild, String query, int limit) {
+		return GuildEntityIndex.getEntities(this.getEmoteIndex(guild).search(query, limit), guild::getEmoteById);
+	}
+	
+	/**
+	 * @return the emote best matching the query or null if there is none or if it is ambiguous
+	 */
+	public Emote searchEmote(Guild guild, String query) {
+		long id = this.getEmoteIndex(guild).searchBest(query);
+		
+		return (id != -1L) ? guild.getEmoteById(id) : null;
+	}
+	
+	/**
+	 * Removes the indexes for the guild, they will be created again the next time they are used
+	 */
+	public void invalidate(Guild guild) {
+		this.guilds.remove(guild.getIdLong());
+	}
+	
+	public void invalidateAll() {
+		this.guilds.clear();
+	}
+	
+	public void onEvent(Event event) {
+		if(event instanceof RoleCreateEvent || event instanceof RoleUpdateNameEvent) {
+			Role role = event instanceof RoleCreateEvent ? ((RoleCreateEvent) event).getRole() : ((RoleUpdateNameEvent) event).getRole();
+			
+			GuildEntities entities = this.guilds.get(role.getGuild().getIdLong());
+			if(entities != null) {
+				entities.roles.update(role.getIdLong(), role.getName());
+			}
+		}else if(event instanceof RoleDeleteEvent) {
+			RoleDeleteEvent deleteEvent = (RoleDeleteEvent) event;
+			
+			GuildEntities entities = this.guilds.get(deleteEvent.getGuild().getIdLong());
+			if(entities != null) {
+				entities.roles.delete(deleteEvent.getRole().getIdLong());
+			}
+		}else if(event instanceof TextChannelCreateEvent || event instanceof TextChannelUpdateNameEvent) {
+			TextChannel channel = event instanceof TextChannelCreateEvent ? ((TextChannelCreateEvent) event).getChannel() : ((TextChannelUpdateNameEvent) event).getChannel();
+			
+			GuildEntities entities = this.guilds.get(channel.getGuild().getIdLong());
+			if(entities != null) {
+				entities.textChannels.update(channel.getIdLong(), channel.getName());
+			}
+		}else if(event instanceof TextChannelDeleteEvent) {
+			TextChannelDeleteEvent deleteEvent = (TextChannelDeleteEvent) event;
+			
+			GuildEntities entities = this.guilds.get(deleteEvent.getGuild().getIdLong());
+			if(entities != null) {
+				entities.textChannels.delete(deleteEvent.getChannel().getIdLong());
+			}
+		}else if(event instanceof EmoteAddedEvent || event instanceof EmoteUpdateNameEvent) {
+			Emote emote = event instanceof EmoteAddedEvent ? ((EmoteAddedEvent) event).getEmote() : ((EmoteUpdateNameEvent) event).getEmote();
+			
+			GuildEntities entities = this.guilds.get(emote.getGuild().getIdLong());
+			if(entities != null) {
+				entities.emotes.update(emote.getIdLong(), emote.getName());
+			}
+		}else if(event instanceof EmoteRemovedEvent) {
+			EmoteRemovedEvent removedEvent = (EmoteRemovedEvent) event;
+			
+			GuildEntities entities = this.guilds.get(removedEvent.getGuild().getIdLong());
+			if(entities != null) {
+				entities.emotes.delete(removedEvent.getEmote().getIdLong());
+			}
+		}else if(event instanceof GuildLeaveEvent) {
+			this.invalidate(((GuildLeaveEvent) event).getGuild());
+		}
+	}
+}
\ No newline at end of file
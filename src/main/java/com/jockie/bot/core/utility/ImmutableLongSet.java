@@ -0,0 +1,192 @@
+package com.jockie.bot.core.utility;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A set of longs (such as ids) which is stored as a sorted array, this takes 8 bytes per id compared to the 50+ bytes of a boxed set
+ * and lookups are done with a binary search without boxing.
+ * </br></br>
+ * A Bloom filter can be put in front of the array, this answers most lookups for ids which are not in the set without going through the array
+ * at the cost of a few more bits per id, this is worth it for large sets where most lookups are not going to be in the set (such as blacklists)
+ */
+public class ImmutableLongSet {
+	
+	public static final ImmutableLongSet EMPTY = new ImmutableLongSet(new long[0], 0);
+	
+	/** The amount of bits per id used by {@link #withBloomFilter()}, which gives a false positive rate of about 1% */
+	public static final int DEFAULT_BLOOM_BITS = 10;
+	
+	/* The amount of bits set and checked for each id */
+	private static final int BLOOM_HASHES = 4;
+	
+	/**
+	 * @return a set of the values, the values can be in any order and can contain duplicates
+	 */
+	public static ImmutableLongSet of(long... values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		
+		int count = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i == 0 || sorted[i] != sorted[count - 1]) {
+				sorted[count++] = sorted[i];
+			}
+		}
+		
+		return (count == 0) ? ImmutableLongSet.EMPTY : new ImmutableLongSet((count == sorted.length) ? sorted : Arrays.copyOf(sorted, count), 0);
+	}
+	
+	/**
+	 * @return a set of the values, the values can be in any order and can contain duplicates
+	 */
+	public static ImmutableLongSet of(Collection<Long> values) {
+		long[] array = new long[values.size()];
+		
+		int i = 0;
+		for(long value : values) {
+			array[i++] = value;
+		}
+		
+		return ImmutableLongSet.of(array);
+	}
+	
+	/* Splits the value in to two well distributed hashes which are combined to get all the bits of the Bloom filter */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+		value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		
+		return value ^ (value >>> 33);
+	}
+	
+	private final long[] values;
+	
+	/* Null if there is no Bloom filter */
+	private final long[] bloom;
+	private final int bloomMask;
+	
+	private ImmutableLongSet(long[] values, int bloomBits) {
+		this.values = values;
+		
+		if(bloomBits > 0 && values.length > 0) {
+			int bits = Integer.highestOneBit((int) Math.min(1 << 30, (long) values.length * bloomBits - 1)) << 1;
+			
+			this.bloom = new long[Math.max(1, bits >>> 6)];
+			this.bloomMask = (this.bloom.length << 6) - 1;
+			
+			for(long value : values) {
+				long hash = ImmutableLongSet.mix(value);
+				int hash1 = (int) hash, hash2 = (int) (hash >>> 32);
+				
+				for(int i = 0; i < ImmutableLongSet.BLOOM_HASHES; i++) {
+					int bit = (hash1 + i * hash2) & this.bloomMask;
+					
+					this.bloom[bit >>> 6] |= 1L << bit;
+				}
+			}
+		}else{
+			this.bloom = null;
+			this.bloomMask = 0;
+		}
+	}
+	
+	/**
+	 * @return a copy of this set with a Bloom filter of {@link #DEFAULT_BLOOM_BITS} bits per id
+	 */
+	public ImmutableLongSet withBloomFilter() {
+		return this.withBloomFilter(ImmutableLongSet.DEFAULT_BLOOM_BITS);
+	}
+	
+	/**
+	 * @param bitsPerValue the amount of bits per id, more bits means fewer lookups which have to go through the array
+	 * 
+	 * @return a copy of this set with a Bloom filter, this set is returned if it is empty
+	 */
+	public ImmutableLongSet withBloomFilter(int bitsPerValue) {
+		if(this.values.length == 0) {
+			return this;
+		}
+		
+		return new ImmutableLongSet(this.values, bitsPerValue);
+	}
+	
+	public boolean hasBloomFilter() {
+		return this.bloom != null;
+	}
+	
+	public boolean contains(long value) {
+		if(this.values.length == 0) {
+			return false;
+		}
+		
+		if(this.bloom != null) {
+			long hash = ImmutableLongSet.mix(value);
+			int hash1 = (int) hash, hash2 = (int) (hash >>> 32);
+			
+			for(int i = 0; i < ImmutableLongSet.BLOOM_HASHES; i++) {
+				int bit = (hash1 + i * hash2) & this.bloomMask;
+				
+				if((this.bloom[bit >>> 6] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+		}
+		
+		return Arrays.binarySearch(this.values, value) >= 0;
+	}
+	
+	/**
+	 * @return a new set with the values added
+	 */
+	public ImmutableLongSet with(long... values) {
+		long[] combined = Arrays.copyOf(this.values, this.values.length + values.length);
+		System.arraycopy(values, 0, combined, this.values.length, values.length);
+		
+		ImmutableLongSet set = ImmutableLongSet.of(combined);
+		
+		return this.hasBloomFilter() ? set.withBloomFilter(this.getBloomBits()) : set;
+	}
+	
+	/**
+	 * @return a new set without the values
+	 */
+	public ImmutableLongSet without(long... values) {
+		ImmutableLongSet removed = ImmutableLongSet.of(values);
+		
+		long[] remaining = new long[this.values.length];
+		int count = 0;
+		for(long value : this.values) {
+			if(!removed.contains(value)) {
+				remaining[count++] = value;
+			}
+		}
+		
+		if(count == 0) {
+			return ImmutableLongSet.EMPTY;
+		}
+		
+		ImmutableLongSet set = new ImmutableLongSet(Arrays.copyOf(remaining, count), 0);
+		
+		return this.hasBloomFilter() ? set.withBloomFilter(this.getBloomBits()) : set;
+	}
+	
+	/* An estimate of the bits per value the Bloom filter was created with */
+	private int getBloomBits() {
+		return Math.max(1, (this.bloom.length << 6) / this.values.length);
+	}
+	
+	public int size() {
+		return this.values.length;
+	}
+	
+	public boolean isEmpty() {
+		return this.values.length == 0;
+	}
+	
+	/**
+	 * @return a copy of the values, sorted
+	 */
+	public long[] toArray() {
+		return this.values.clone();
+	}
+}
\ No newline at end of file
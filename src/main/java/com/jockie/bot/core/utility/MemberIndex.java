@@ -0,0 +1,240 @@
+package com.jockie.bot.core.utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberLeaveEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberNickChangeEvent;
+import net.dv8tion.jda.core.events.user.update.UserUpdateDiscriminatorEvent;
+import net.dv8tion.jda.core.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.core.hooks.EventListener;
+
+/**
+ * A case insensitive index of the tags (name#discriminator) and effective names of the members in each guild, 
+ * this makes it possible to find members by name without going through (and creating strings for) every member of the guild.
+ * </br></br>
+ * The index for a guild is created the first time it is used and is kept up to date by the member and user events, 
+ * which means that this has to be registered as an event listener, see {@link ArgumentUtility#setMemberIndex(MemberIndex)}
+ */
+public class MemberIndex implements EventListener {
+	
+	private class GuildMembers {
+		
+		private final NameIndex tags = new NameIndex();
+		private final NameIndex names = new NameIndex(MemberIndex.this.trigrams);
+		
+		/* The tag and effective name each member was indexed by so that they can be removed even after they have changed */
+		private final Map<Long, String[]> keys = new HashMap<>();
+		
+		private boolean built;
+		
+		private synchronized void build(Guild guild) {
+			if(this.built) {
+				return;
+			}
+			
+			for(Member member : guild.getMembers()) {
+				this.add(member);
+			}
+			
+			this.built = true;
+		}
+		
+		private void add(Member member) {
+			User user = member.getUser();
+			
+			String tag = user.getName() + "#" + user.getDiscriminator(), name = member.getEffectiveName();
+			
+			this.tags.add(tag, user.getIdLong());
+			this.names.add(name, user.getIdLong());
+			
+			this.keys.put(user.getIdLong(), new String[] { tag, name });
+		}
+		
+		private void remove(long id) {
+			String[] keys = this.keys.remove(id);
+			if(keys != null) {
+				this.tags.remove(keys[0], id);
+				this.names.remove(keys[1], id);
+			}
+		}
+		
+		/* Updates are only applied once the index has been built, if it has not been built yet the guild's members will already contain the change */
+		private synchronized void update(Member member) {
+			if(this.built) {
+				this.remove(member.getUser().getIdLong());
+				this.add(member);
+			}
+		}
+		
+		private synchronized void delete(long id) {
+			if(this.built) {
+				this.remove(id);
+			}
+		}
+	}
+	
+	private final Map<Long, GuildMembers> guilds = new ConcurrentHashMap<>();
+	
+	private final boolean trigrams;
+	
+	/**
+	 * Creates an index without trigrams, see {@link #MemberIndex(boolean)}
+	 */
+	public MemberIndex() {
+		this(false);
+	}
+	
+	/**
+	 * @param trigrams whether or not the effective names should be indexed by trigrams, 
+	 * this is required for {@link #searchMembers(Guild, String, int)} to find names which are not exact or prefix matches 
+	 * but uses considerably more memory on large guilds, which is why it is disabled by default
+	 */
+	public MemberIndex(boolean trigrams) {
+		this.trigrams = trigrams;
+	}
+	
+	public boolean isTrigramsEnabled() {
+		return this.trigrams;
+	}
+	
+	private GuildMembers getGuildMembers(Guild guild) {
+		GuildMembers members = this.guilds.computeIfAbsent(guild.getIdLong(), (id) -> new GuildMembers());
+		members.build(guild);
+		
+		return members;
+	}
+	
+	private static List<Member> getMembers(Guild guild, long[] ids) {
+		if(ids.length == 0) {
+			return Collections.emptyList();
+		}
+		
+		List<Member> members = new ArrayList<>(ids.length);
+		for(long id : ids) {
+			Member member = guild.getMemberById(id);
+			if(member != null) {
+				members.add(member);
+			}
+		}
+		
+		return members;
+	}
+	
+	/**
+	 * @param tag the name and discriminator of the user, for instance Jockie#1234
+	 * 
+	 * @return the member with the tag or null if there is none
+	 */
+	public Member getMemberByTag(Guild guild, String tag, boolean ignoreCase) {
+		for(long id : this.getGuildMembers(guild).tags.get(tag)) {
+			Member member = guild.getMemberById(id);
+			if(member == null) {
+				continue;
+			}
+			
+			User user = member.getUser();
+			if(ignoreCase || tag.equals(user.getName() + "#" + user.getDiscriminator())) {
+				return member;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * @return all the members with the effective name
+	 */
+	public List<Member> getMembersByEffectiveName(Guild guild, String name, boolean ignoreCase) {
+		List<Member> members = MemberIndex.getMembers(guild, this.getGuildMembers(guild).names.get(name));
+		if(!ignoreCase) {
+			members.removeIf(member -> !member.getEffectiveName().equals(name));
+		}
+		
+		return members;
+	}
+	
+	/**
+	 * @param limit the maximum amount of members to return
+	 * 
+	 * @return the members which have an effective name starting with the prefix (ignoring case), ordered by their effective names
+	 */
+	public List<Member> getMembersByEffectiveNamePrefix(Guild guild, String prefix, int limit) {
+		return MemberIndex.getMembers(guild, this.getGuildMembers(guild).names.getByPrefix(prefix, limit));
+	}
+	
+	/**
+	 * @param limit the maximum amount of members to return
+	 * 
+	 * @return the members with an effective name matching the query, the best matches first, see {@link NameIndex#search(String, int)}
+	 */
+	public List<Member> searchMembers(Guild guild, String query, int limit) {
+		return MemberIndex.getMembers(guild, this.getGuildMembers(guild).names.search(query, limit));
+	}
+	
+	/**
+	 * @return the member with the effective name best matching the query or null if there is none or if it is ambiguous, see {@link NameIndex#searchBest(String)}
+	 */
+	public Member searchMember(Guild guild, String query) {
+		long id = this.getGuildMembers(guild).names.searchBest(query);
+		
+		return (id != -1L) ? guild.getMemberById(id) : null;
+	}
+	
+	/**
+	 * Removes the index for the guild, it will be created again the next time it is used
+	 */
+	public void invalidate(Guild guild) {
+		this.guilds.remove(guild.getIdLong());
+	}
+	
+	public void invalidateAll() {
+		this.guilds.clear();
+	}
+	
+	private void update(User user) {
+		for(Guild guild : user.getMutualGuilds()) {
+			GuildMembers members = this.guilds.get(guild.getIdLong());
+			if(members != null) {
+				Member member = guild.getMember(user);
+				if(member != null) {
+					members.update(member);
+				}
+			}
+		}
+	}
+	
+	public void onEvent(Event event) {
+		if(event instanceof GuildMemberJoinEvent || event instanceof GuildMemberNickChangeEvent) {
+			Member member = event instanceof GuildMemberJoinEvent ? ((GuildMemberJoinEvent) event).getMember() : ((GuildMemberNickChangeEvent) event).getMember();
+			
+			GuildMembers members = this.guilds.get(member.getGuild().getIdLong());
+			if(members != null) {
+				members.update(member);
+			}
+		}else if(event instanceof GuildMemberLeaveEvent) {
+			GuildMemberLeaveEvent leaveEvent = (GuildMemberLeaveEvent) event;
+			
+			GuildMembers members = this.guilds.get(leaveEvent.getGuild().getIdLong());
+			if(members != null) {
+				members.delete(leaveEvent.getUser().getIdLong());
+			}
+		}else if(event instanceof UserUpdateNameEvent) {
+			this.update(((UserUpdateNameEvent) event).getUser());
+		}else if(event instanceof UserUpdateDiscriminatorEvent) {
+			this.update(((UserUpdateDiscriminatorEvent) event).getUser());
+		}else if(event instanceof GuildLeaveEvent) {
+			this.invalidate(((GuildLeaveEvent) event).getGuild());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.jockie.bot.core.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A case insensitive index from names to the ids of everything with that name, the names are kept sorted so they can be looked up by prefix as well.
+ * </br></br>
+ * If trigrams are enabled the index can also be searched with {@link #search(String, int)}, which ranks exact matches first,
+ * then names starting with the query and lastly names sharing enough trigrams (sequences of three characters) with the query.
+ * </br></br>
+ * Lookups do not lock, changes are synchronized and replace the id arrays instead of modifying them
+ * which means that the returned arrays should never be modified
+ */
+public class NameIndex {
+	
+	private static final long[] EMPTY = new long[0];
+	
+	/* The scores of the different kinds of matches, similarity scores are between 0 and 1 */
+	private static final float SCORE_EXACT = 3F, SCORE_PREFIX = 2F;
+	
+	/** The minimum similarity (shared trigrams divided by all distinct trigrams of the two) a name needs to be included in a search */
+	public static final float MINIMUM_SIMILARITY = 0.3F;
+	
+	/** The maximum amount of names starting with the query which are ranked, this keeps short queries from going through most of the index */
+	public static final int MAXIMUM_PREFIX_MATCHES = 256;
+	
+	/** The maximum amount of names sharing trigrams with the query which are ranked, this keeps queries made of common trigrams from going through most of the index */
+	public static final int MAXIMUM_TRIGRAM_CANDIDATES = 1024;
+	
+	public static String fold(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+	
+	private static long[] getTrigrams(String name) {
+		/* Padded with spaces so that the start and end of the name count more */
+		String padded = " " + name + " ";
+		
+		long[] trigrams = new long[padded.length() - 2];
+		for(int i = 0; i < trigrams.length; i++) {
+			trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+		}
+		
+		Arrays.sort(trigrams);
+		
+		/* Only keep distinct trigrams */
+		int count = 0;
+		for(int i = 0; i < trigrams.length; i++) {
+			if(i == 0 || trigrams[i] != trigrams[i - 1]) {
+				trigrams[count++] = trigrams[i];
+			}
+		}
+		
+		return (count == trigrams.length) ? trigrams : Arrays.copyOf(trigrams, count);
+	}
+	
+	private final ConcurrentNavigableMap<String, long[]> names = new ConcurrentSkipListMap<>();
+	
+	/* Trigram to the (folded) names which contain it, null if trigrams are not enabled */
+	private final Map<Long, Set<String>> trigrams;
+	
+	public NameIndex() {
+		this(false);
+	}
+	
+	/**
+	 * @param trigrams whether or not trigrams should be indexed, this is required for {@link #search(String, int)} to find names which are not exact or prefix matches
+	 */
+	public NameIndex(boolean trigrams) {
+		this.trigrams = trigrams ? new ConcurrentHashMap<>() : null;
+	}
+	
+	public boolean isTrigramsEnabled() {
+		return this.trigrams != null;
+	}
+	
+	public synchronized void add(String name, long id) {
+		String key = NameIndex.fold(name);
+		
+		long[] ids = this.names.get(key);
+		if(ids == null) {
+			this.names.put(key, new long[] { id });
+			
+			if(this.trigrams != null) {
+				for(long trigram : NameIndex.getTrigrams(key)) {
+					this.trigrams.computeIfAbsent(trigram, (k) -> ConcurrentHashMap.newKeySet()).add(key);
+				}
+			}
+			
+			return;
+		}
+		
+		for(int i = 0; i < ids.length; i++) {
+			if(ids[i] == id) {
+				return;
+			}
+		}
+		
+		long[] newIds = Arrays.copyOf(ids, ids.length + 1);
+		newIds[ids.length] = id;
+		
+		this.names.put(key, newIds);
+	}
+	
+	public synchronized void remove(String name, long id) {
+		String key = NameIndex.fold(name);
+		
+		long[] ids = this.names.get(key);
+		if(ids == null) {
+			return;
+		}
+		
+		for(int i = 0; i < ids.length; i++) {
+			if(ids[i] == id) {
+				if(ids.length == 1) {
+					this.names.remove(key);
+					
+					if(this.trigrams != null) {
+						for(long trigram : NameIndex.getTrigrams(key)) {
+							Set<String> names = this.trigrams.get(trigram);
+							if(names != null && names.remove(key) && names.isEmpty()) {
+								this.trigrams.remove(trigram);
+							}
+						}
+					}
+				}else{
+					long[] newIds = new long[ids.length - 1];
+					System.arraycopy(ids, 0, newIds, 0, i);
+					System.arraycopy(ids, i + 1, newIds, i, newIds.length - i);
+					
+					this.names.put(key, newIds);
+				}
+				
+				return;
+			}
+		}
+	}
+	
+	public synchronized void clear() {
+		this.names.clear();
+		
+		if(this.trigrams != null) {
+			this.trigrams.clear();
+		}
+	}
+	
+	/**
+	 * @return the ids of everything with the name (ignoring case), this array should not be modified
+	 */
+	public long[] get(String name) {
+		long[] ids = this.names.get(NameIndex.fold(name));
+		
+		return (ids != null) ? ids : NameIndex.EMPTY;
+	}
+	
+	/**
+	 * @param limit the maximum amount of ids to return
+	 *
+	 * @return the ids of everything which has a name starting with the prefix (ignoring case), in the order of their names
+	 */
+	public long[] getByPrefix(String prefix, int limit) {
+		String key = NameIndex.fold(prefix);
+		
+		long[] ids = new long[Math.min(limit, 16)];
+		int count = 0;
+		
+		ENTRIES:
+		for(Map.Entry<String, long[]> entry : this.names.tailMap(key).entrySet()) {
+			if(!entry.getKey().startsWith(key)) {
+				break;
+			}
+			
+			for(long id : entry.getValue()) {
+				if(count == limit) {
+					break ENTRIES;
+				}
+				
+				if(count == ids.length) {
+					ids = Arrays.copyOf(ids, Math.min(limit, ids.length * 2));
+				}
+				
+				ids[count++] = id;
+			}
+		}
+		
+		return (count == ids.length) ? ids : Arrays.copyOf(ids, count);
+	}
+	
+	private static class Match implements Comparable<Match> {
+		
+		private final String name;
+		private final float score;
+		
+		private Match(String name, float score) {
+			this.name = name;
+			this.score = score;
+		}
+		
+		public int compareTo(Match other) {
+			int compare = Float.compare(other.score, this.score);
+			
+			return (compare != 0) ? compare : this.name.compareTo(other.name);
+		}
+	}
+	
+	/* All the names matching the query, best match first */
+	private List<Match> rank(String query) {
+		String key = NameIndex.fold(query);
+		
+		List<Match> matches = new ArrayList<>();
+		if(key.length() == 0) {
+			return matches;
+		}
+		
+		if(this.names.containsKey(key)) {
+			matches.add(new Match(key, NameIndex.SCORE_EXACT));
+		}
+		
+		/* The closer the prefix is to the whole name the better */
+		int prefixMatches = 0;
+		for(String name : this.names.tailMap(key, false).keySet()) {
+			if(!name.startsWith(key) || prefixMatches++ == NameIndex.MAXIMUM_PREFIX_MATCHES) {
+				break;
+			}
+			
+			matches.add(new Match(name, NameIndex.SCORE_PREFIX + (float) key.length() / name.length()));
+		}
+		
+		if(this.trigrams != null && key.length() >= 3) {
+			long[] queryTrigrams = NameIndex.getTrigrams(key);
+			
+			List<Set<String>> postings = new ArrayList<>(queryTrigrams.length);
+			for(long trigram : queryTrigrams) {
+				Set<String> names = this.trigrams.get(trigram);
+				if(names != null) {
+					postings.add(names);
+				}
+			}
+			
+			/* Rarest trigrams first */
+			postings.sort((first, second) -> Integer.compare(first.size(), second.size()));
+			
+			/* 
+			 * A name can never have fewer trigrams than it shares with the query, which means that it needs at least this many 
+			 * shared trigrams to be similar enough, so it has to be in one of the rarest (postings - required + 1) sets
+			 */
+			int required = Math.max(1, (int) Math.ceil(NameIndex.MINIMUM_SIMILARITY * queryTrigrams.length));
+			int candidateSets = postings.size() - required + 1;
+			
+			Map<String, Integer> shared = new HashMap<>();
+			
+			CANDIDATES:
+			for(int i = 0; i < candidateSets; i++) {
+				for(String name : postings.get(i)) {
+					if(shared.containsKey(name) || name.startsWith(key)) {
+						continue;
+					}
+					
+					if(shared.size() == NameIndex.MAXIMUM_TRIGRAM_CANDIDATES) {
+						break CANDIDATES;
+					}
+					
+					/* Only the sets before this one can have been counted already, the name was not in any of them */
+					int count = 1;
+					for(int j = i + 1; j < postings.size(); j++) {
+						if(postings.get(j).contains(name)) {
+							count++;
+						}
+					}
+					
+					shared.put(name, count);
+				}
+			}
+			
+			for(Map.Entry<String, Integer> entry : shared.entrySet()) {
+				int count = entry.getValue();
+				
+				/* Names have one trigram per character (+ padding) at most, which is close enough and avoids creating them again */
+				float similarity = (float) count / (queryTrigrams.length + entry.getKey().length() + 2 - count);
+				if(similarity >= NameIndex.MINIMUM_SIMILARITY) {
+					matches.add(new Match(entry.getKey(), Math.min(similarity, 1F)));
+				}
+			}
+		}
+		
+		matches.sort(null);
+		
+		return matches;
+	}
+	
+	/**
+	 * @param limit the maximum amount of ids to return
+	 *
+	 * @return the ids of everything matching the query, the best matches first (exact matches, names starting with the query and then similar names)
+	 */
+	public long[] search(String query, int limit) {
+		long[] ids = new long[Math.min(limit, 16)];
+		int count = 0;
+		
+		MATCHES:
+		for(Match match : this.rank(query)) {
+			long[] matchIds = this.names.get(match.name);
+			if(matchIds == null) {
+				continue;
+			}
+			
+			for(long id : matchIds) {
+				if(count == limit) {
+					break MATCHES;
+				}
+				
+				if(count == ids.length) {
+					ids = Arrays.copyOf(ids, Math.min(limit, ids.length * 2));
+				}
+				
+				ids[count++] = id;
+			}
+		}
+		
+		return (count == ids.length) ? ids : Arrays.copyOf(ids, count);
+	}
+	
+	/**
+	 * @return the id of the single best match for the query or -1 if there is none or if it is ambiguous (more than one name or id shares the best score)
+	 */
+	public long searchBest(String query) {
+		List<Match> matches = this.rank(query);
+		if(matches.isEmpty()) {
+			return -1L;
+		}
+		
+		Match best = matches.get(0);
+		if(matches.size() > 1 && matches.get(1).score == best.score) {
+			return -1L;
+		}
+		
+		long[] ids = this.names.get(best.name);
+		if(ids == null || ids.length != 1) {
+			return -1L;
+		}
+		
+		return ids[0];
+	}
+	
+	/**
+	 * @return the amount of distinct names in this index
+	 */
+	public int size() {
+		return this.names.size();
+	}
+}
\ No newline at end of file
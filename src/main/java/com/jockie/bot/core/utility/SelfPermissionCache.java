@@ -0,0 +1,138 @@
+package com.jockie.bot.core.utility;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.channel.text.TextChannelDeleteEvent;
+import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdatePermissionsEvent;
+import net.dv8tion.jda.core.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.core.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.core.events.guild.update.GuildUpdateOwnerEvent;
+import net.dv8tion.jda.core.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.core.events.role.update.RoleUpdatePermissionsEvent;
+import net.dv8tion.jda.core.hooks.EventListener;
+import net.dv8tion.jda.core.utils.PermissionUtil;
+
+/**
+ * A cache of the effective permissions the bot (the self member) has in each text channel,
+ * JDA goes through all the roles and permission overrides every time they are checked which this avoids for channels where commands are used often.
+ * </br></br>
+ * The permissions for a guild are removed when the permissions of a role or channel in it change, when a role is deleted or when the roles of the bot change,
+ * which means that this has to be registered as an event listener, the {@link com.jockie.bot.core.command.impl.CommandListener CommandListener} does this for its own cache
+ */
+public class SelfPermissionCache implements EventListener {
+	
+	/* Immutable, replaced when a channel is added so that lookups do not lock */
+	private static class Channels {
+		
+		private final long[] ids;
+		private final long[] permissions;
+		
+		private Channels(long[] ids, long[] permissions) {
+			this.ids = ids;
+			this.permissions = permissions;
+		}
+	}
+	
+	private static class GuildPermissions {
+		
+		private volatile Channels channels = new Channels(new long[0], new long[0]);
+		
+		private synchronized void put(long channelId, long permissions) {
+			Channels channels = this.channels;
+			
+			int index = Arrays.binarySearch(channels.ids, channelId);
+			if(index >= 0) {
+				return;
+			}
+			
+			index = -index - 1;
+			
+			long[] ids = new long[channels.ids.length + 1];
+			System.arraycopy(channels.ids, 0, ids, 0, index);
+			System.arraycopy(channels.ids, index, ids, index + 1, channels.ids.length - index);
+			ids[index] = channelId;
+			
+			long[] newPermissions = new long[ids.length];
+			System.arraycopy(channels.permissions, 0, newPermissions, 0, index);
+			System.arraycopy(channels.permissions, index, newPermissions, index + 1, channels.permissions.length - index);
+			newPermissions[index] = permissions;
+			
+			this.channels = new Channels(ids, newPermissions);
+		}
+	}
+	
+	private final Map<Long, GuildPermissions> guilds = new ConcurrentHashMap<>();
+	
+	/**
+	 * @return the raw effective permissions the bot has in the channel
+	 */
+	public long getPermissions(TextChannel channel) {
+		Guild guild = channel.getGuild();
+		
+		GuildPermissions guildPermissions = this.guilds.computeIfAbsent(guild.getIdLong(), (id) -> new GuildPermissions());
+		
+		Channels channels = guildPermissions.channels;
+		
+		int index = Arrays.binarySearch(channels.ids, channel.getIdLong());
+		if(index >= 0) {
+			return channels.permissions[index];
+		}
+		
+		long permissions = PermissionUtil.getEffectivePermission(channel, guild.getSelfMember());
+		
+		/* If the guild was invalidated while this was computed the permissions are stored in the removed entry and are never seen */
+		guildPermissions.put(channel.getIdLong(), permissions);
+		
+		return permissions;
+	}
+	
+	/**
+	 * @return whether or not the bot has all the permissions in the channel
+	 */
+	public boolean hasPermission(TextChannel channel, Permission... permissions) {
+		long raw = Permission.getRaw(permissions);
+		
+		return (this.getPermissions(channel) & raw) == raw;
+	}
+	
+	/**
+	 * Removes the cached permissions for the guild, they will be computed again the next time they are used
+	 */
+	public void invalidate(Guild guild) {
+		this.guilds.remove(guild.getIdLong());
+	}
+	
+	public void invalidateAll() {
+		this.guilds.clear();
+	}
+	
+	public void onEvent(Event event) {
+		if(event instanceof RoleUpdatePermissionsEvent) {
+			this.invalidate(((RoleUpdatePermissionsEvent) event).getGuild());
+		}else if(event instanceof RoleDeleteEvent) {
+			this.invalidate(((RoleDeleteEvent) event).getGuild());
+		}else if(event instanceof TextChannelUpdatePermissionsEvent) {
+			this.invalidate(((TextChannelUpdatePermissionsEvent) event).getGuild());
+		}else if(event instanceof TextChannelDeleteEvent) {
+			this.invalidate(((TextChannelDeleteEvent) event).getGuild());
+		}else if(event instanceof GuildMemberRoleAddEvent || event instanceof GuildMemberRoleRemoveEvent) {
+			GenericGuildMemberEvent memberEvent = (GenericGuildMemberEvent) event;
+			
+			if(memberEvent.getUser().getIdLong() == memberEvent.getGuild().getSelfMember().getUser().getIdLong()) {
+				this.invalidate(memberEvent.getGuild());
+			}
+		}else if(event instanceof GuildUpdateOwnerEvent) {
+			this.invalidate(((GuildUpdateOwnerEvent) event).getGuild());
+		}else if(event instanceof GuildLeaveEvent) {
+			this.invalidate(((GuildLeaveEvent) event).getGuild());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.jockie.bot.core.argument.impl.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.jockie.bot.core.argument.MutableVerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument;
+import com.jockie.bot.core.argument.VerifiedArgument.VerifiedType;
+
+public class NumberArgumentParserTest {
+	
+	private static <T> VerifiedArgument<T> parse(IReusableArgumentParser<T> parser, String content) {
+		return parser.parse(null, null, content, new MutableVerifiedArgument<>());
+	}
+	
+	private static void assertInvalid(IReusableArgumentParser<?> parser, String content) {
+		assertSame(content, VerifiedArgument.INVALID, NumberArgumentParserTest.parse(parser, content));
+	}
+	
+	@Test
+	public void testLong() {
+		String[] values = { "0", "-0", "+0", "1", "-1", "+42", "9223372036854775807", "-9223372036854775808", "000123" };
+		
+		for(String value : values) {
+			VerifiedArgument<Long> result = NumberArgumentParserTest.parse(LongArgumentParser.INSTANCE, value);
+			
+			assertEquals(value, VerifiedType.VALID, result.getVerifiedType());
+			assertEquals(value, Long.parseLong(value), (long) result.getObject());
+		}
+	}
+	
+	@Test
+	public void testLongInvalid() {
+		String[] values = { "", "-", "+", "--1", "+-1", "1-", " 1", "1 ", "1.0", "0x10", "9223372036854775808", "-9223372036854775809", "99999999999999999999" };
+		
+		for(String value : values) {
+			NumberArgumentParserTest.assertInvalid(LongArgumentParser.INSTANCE, value);
+		}
+	}
+	
+	@Test
+	public void testInt() {
+		assertEquals(Integer.MAX_VALUE, (int) NumberArgumentParserTest.parse(IntArgumentParser.INSTANCE, "2147483647").getObject());
+		assertEquals(Integer.MIN_VALUE, (int) NumberArgumentParserTest.parse(IntArgumentParser.INSTANCE, "-2147483648").getObject());
+		
+		NumberArgumentParserTest.assertInvalid(IntArgumentParser.INSTANCE, "2147483648");
+		NumberArgumentParserTest.assertInvalid(IntArgumentParser.INSTANCE, "-2147483649");
+		NumberArgumentParserTest.assertInvalid(IntArgumentParser.INSTANCE, "");
+		NumberArgumentParserTest.assertInvalid(IntArgumentParser.INSTANCE, "-");
+		NumberArgumentParserTest.assertInvalid(IntArgumentParser.INSTANCE, "+");
+	}
+	
+	@Test
+	public void testByteAndShort() {
+		IReusableArgumentParser<Byte> byteParser = IntArgumentParser.BYTE.toByteParser();
+		IReusableArgumentParser<Short> shortParser = IntArgumentParser.SHORT.toShortParser();
+		
+		assertEquals((byte) 127, (byte) NumberArgumentParserTest.parse(byteParser, "127").getObject());
+		assertEquals((byte) -128, (byte) NumberArgumentParserTest.parse(byteParser, "-128").getObject());
+		NumberArgumentParserTest.assertInvalid(byteParser, "128");
+		NumberArgumentParserTest.assertInvalid(byteParser, "-129");
+		
+		assertEquals((short) 32767, (short) NumberArgumentParserTest.parse(shortParser, "32767").getObject());
+		assertEquals((short) -32768, (short) NumberArgumentParserTest.parse(shortParser, "-32768").getObject());
+		NumberArgumentParserTest.assertInvalid(shortParser, "32768");
+		NumberArgumentParserTest.assertInvalid(shortParser, "");
+	}
+	
+	@Test
+	public void testReusableResult() {
+		MutableVerifiedArgument<Long> result = new MutableVerifiedArgument<>();
+		
+		assertSame(result, LongArgumentParser.INSTANCE.parse(null, null, "5", result));
+		assertSame(VerifiedArgument.INVALID, LongArgumentParser.INSTANCE.parse(null, null, "five", result));
+	}
+	
+	@Test
+	public void testSlotParse() {
+		long[] slots = { -1L, -1L };
+		
+		assertTrue(LongArgumentParser.INSTANCE.parse("a 123 b", 2, 5, slots, 1));
+		assertEquals(123L, slots[1]);
+		
+		assertFalse(LongArgumentParser.INSTANCE.parse("a 123 b", 1, 5, slots, 0));
+		assertEquals(-1L, slots[0]);
+	}
+	
+	@Test
+	public void testDouble() {
+		String[] valid = { "0", "1.5", "-1.5", "+1.5", ".5", "5.", "1e10", "1E-10", "-1.5e+3", "NaN", "-Infinity", "Infinity", "1d", "1.5F" };
+		for(String value : valid) {
+			assertTrue(value, DoubleArgumentParser.isValid(value, 0, value.length()));
+			assertEquals(Double.parseDouble(value), NumberArgumentParserTest.parse(DoubleArgumentParser.INSTANCE, value).getObject(), 0D);
+		}
+		
+		String[] invalid = { "", "-", "+", ".", "e5", "1e", "1e+", "1.5.5", "1,5", "0x10", " 1", "1x", "nan" };
+		for(String value : invalid) {
+			assertFalse(value, DoubleArgumentParser.isValid(value, 0, value.length()));
+			NumberArgumentParserTest.assertInvalid(DoubleArgumentParser.INSTANCE, value);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class AdmissionFilterTest {
+	
+	@Test
+	public void testEmpty() {
+		AdmissionFilter filter = new AdmissionFilter();
+		
+		assertTrue(filter.isAllowed(1L, 2L));
+		assertTrue(filter.isAllowed(-1L, 2L));
+		assertNull(filter.getWhitelistedUsers());
+	}
+	
+	@Test
+	public void testBlacklistedUsersAndGuilds() {
+		AdmissionFilter filter = new AdmissionFilter()
+			.setBlacklistedUsers(10L, 11L)
+			.setBlacklistedGuilds(100L);
+		
+		assertFalse(filter.isAllowed(1L, 10L));
+		assertFalse(filter.isAllowed(-1L, 11L));
+		assertFalse(filter.isAllowed(100L, 12L));
+		
+		/* The guild blacklist does not apply to private messages */
+		assertTrue(filter.isAllowed(-1L, 12L));
+		assertTrue(filter.isAllowed(1L, 12L));
+		
+		filter.removeBlacklistedUsers(10L).addBlacklistedGuilds(101L);
+		
+		assertTrue(filter.isAllowed(1L, 10L));
+		assertFalse(filter.isAllowed(101L, 10L));
+	}
+	
+	@Test
+	public void testBlacklistedMembers() {
+		AdmissionFilter filter = new AdmissionFilter()
+			.setBlacklistedMembers(100L, 10L, 11L)
+			.setBlacklistedMembers(200L, 12L);
+		
+		assertFalse(filter.isAllowed(100L, 10L));
+		assertFalse(filter.isAllowed(200L, 12L));
+		
+		/* Members are only blacklisted in their own guild */
+		assertTrue(filter.isAllowed(200L, 10L));
+		assertTrue(filter.isAllowed(100L, 12L));
+		assertTrue(filter.isAllowed(-1L, 10L));
+		
+		filter.removeBlacklistedMembers(100L, 10L, 11L);
+		
+		assertTrue(filter.isAllowed(100L, 10L));
+		assertTrue(filter.getBlacklistedMembers(100L).isEmpty());
+		
+		filter.setBlacklistedMembers(Map.of(300L, List.of(13L)));
+		
+		assertFalse(filter.isAllowed(300L, 13L));
+		assertTrue(filter.isAllowed(200L, 12L));
+	}
+	
+	@Test
+	public void testWhitelist() {
+		AdmissionFilter filter = new AdmissionFilter(true).setWhitelistedUsers(10L, 11L).setBlacklistedUsers(11L);
+		
+		assertTrue(filter.isAllowed(1L, 10L));
+		assertFalse(filter.isAllowed(1L, 12L));
+		
+		/* The blacklist still applies to whitelisted users */
+		assertFalse(filter.isAllowed(1L, 11L));
+		
+		filter.removeWhitelist();
+		
+		assertTrue(filter.isAllowed(1L, 12L));
+		
+		filter.clear();
+		
+		assertTrue(filter.isAllowed(1L, 11L));
+	}
+}
\ No newline at end of file
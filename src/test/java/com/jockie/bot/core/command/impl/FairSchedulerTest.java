@@ -0,0 +1,163 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FairSchedulerTest {
+	
+	/* The jobs handed to the executor, they are only run when the test runs them */
+	private List<Runnable> jobs;
+	
+	/* The labels of the tasks in the order they were run */
+	private List<String> order;
+	
+	@Before
+	public void setUp() {
+		this.jobs = new ArrayList<>();
+		this.order = new ArrayList<>();
+	}
+	
+	private FairScheduler scheduler(int parallelism) {
+		return new FairScheduler(this.jobs::add, parallelism, FairScheduler.BY_GUILD);
+	}
+	
+	private boolean submit(FairScheduler scheduler, long key, String label) {
+		return scheduler.submit(key, () -> this.order.add(label));
+	}
+	
+	private void runAll() {
+		while(!this.jobs.isEmpty()) {
+			this.jobs.remove(0).run();
+		}
+	}
+	
+	@Test
+	public void testStartsWhenThereIsRoom() {
+		FairScheduler scheduler = this.scheduler(2);
+		
+		this.submit(scheduler, 1L, "a1");
+		this.submit(scheduler, 1L, "a2");
+		this.submit(scheduler, 1L, "a3");
+		
+		assertEquals(2, this.jobs.size());
+		assertEquals(2, scheduler.getRunningCount());
+		assertEquals(1, scheduler.getQueuedCount(1L));
+		
+		this.runAll();
+		
+		assertEquals(0, scheduler.getRunningCount());
+		assertEquals(0, scheduler.getQueuedCount(1L));
+		assertEquals(List.of("a1", "a2", "a3"), this.order);
+	}
+	
+	@Test
+	public void testRoundRobin() {
+		FairScheduler scheduler = this.scheduler(1);
+		
+		for(int i = 1; i <= 4; i++) {
+			this.submit(scheduler, 1L, "a" + i);
+		}
+		
+		for(int i = 1; i <= 2; i++) {
+			this.submit(scheduler, 2L, "b" + i);
+		}
+		
+		this.runAll();
+		
+		/* The busy guild does not get to run all of its commands before the other one gets a turn */
+		assertEquals(List.of("a1", "a2", "b1", "a3", "b2", "a4"), this.order);
+	}
+	
+	@Test
+	public void testWeight() {
+		FairScheduler scheduler = this.scheduler(1).setWeight(1L, 2);
+		
+		for(int i = 1; i <= 6; i++) {
+			this.submit(scheduler, 1L, "a" + i);
+		}
+		
+		for(int i = 1; i <= 3; i++) {
+			this.submit(scheduler, 2L, "b" + i);
+		}
+		
+		this.runAll();
+		
+		assertEquals(List.of("a1", "a2", "b1", "a3", "a4", "b2", "a5", "a6", "b3"), this.order);
+	}
+	
+	@Test
+	public void testMaximumRunning() {
+		FairScheduler scheduler = this.scheduler(4).setMaximumRunning(1);
+		
+		this.submit(scheduler, 1L, "a1");
+		this.submit(scheduler, 1L, "a2");
+		this.submit(scheduler, 2L, "b1");
+		
+		/* The second command of the first guild has to wait even though there are threads left */
+		assertEquals(2, this.jobs.size());
+		assertEquals(1, scheduler.getQueuedCount(1L));
+		
+		this.jobs.remove(0).run();
+		
+		assertEquals(2, this.jobs.size());
+		assertEquals(0, scheduler.getQueuedCount(1L));
+		
+		this.runAll();
+		
+		assertEquals(List.of("a1", "b1", "a2"), this.order);
+	}
+	
+	@Test
+	public void testMaximumQueued() {
+		FairScheduler scheduler = this.scheduler(1).setMaximumQueued(1);
+		
+		assertTrue(this.submit(scheduler, 1L, "a1"));
+		assertTrue(this.submit(scheduler, 1L, "a2"));
+		assertFalse(this.submit(scheduler, 1L, "a3"));
+		
+		/* The limit is per guild */
+		assertTrue(this.submit(scheduler, 2L, "b1"));
+		assertFalse(this.submit(scheduler, 2L, "b2"));
+		
+		this.runAll();
+		
+		assertEquals(List.of("a1", "a2", "b1"), this.order);
+		
+		assertTrue(this.submit(scheduler, 1L, "a4"));
+	}
+	
+	@Test
+	public void testRejectingExecutor() {
+		List<Runnable> accepted = new ArrayList<>();
+		boolean[] reject = { true };
+		
+		FairScheduler scheduler = new FairScheduler((job) -> {
+			if(reject[0]) {
+				reject[0] = false;
+				
+				throw new IllegalStateException("Rejected for the test");
+			}
+			
+			accepted.add(job);
+		}, 1, FairScheduler.BY_GUILD);
+		
+		/* The slot of the rejected task is given back so that the next one can run */
+		this.submit(scheduler, 1L, "a1");
+		this.submit(scheduler, 1L, "a2");
+		
+		assertEquals(1, accepted.size());
+		assertEquals(1, scheduler.getRunningCount());
+		
+		accepted.remove(0).run();
+		
+		assertEquals(0, scheduler.getRunningCount());
+		assertEquals(List.of("a2"), this.order);
+	}
+}
\ No newline at end of file
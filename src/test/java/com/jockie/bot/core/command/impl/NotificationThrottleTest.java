@@ -0,0 +1,87 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.jockie.bot.core.command.ICommand;
+import com.jockie.bot.core.command.impl.NotificationThrottle.Notice;
+
+public class NotificationThrottleTest {
+	
+	private static ICommand command() {
+		return (ICommand) Proxy.newProxyInstance(ICommand.class.getClassLoader(), new Class<?>[] { ICommand.class }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				default: throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+	
+	@Test
+	public void testThrottle() {
+		NotificationThrottle throttle = new NotificationThrottle(60000L);
+		ICommand command = NotificationThrottleTest.command();
+		
+		assertTrue(throttle.tryNotify(1L, command, Notice.COOLDOWN));
+		assertFalse(throttle.tryNotify(1L, command, Notice.COOLDOWN));
+		
+		/* Another user, notice or command is throttled separately */
+		assertTrue(throttle.tryNotify(2L, command, Notice.COOLDOWN));
+		assertTrue(throttle.tryNotify(1L, command, Notice.NSFW));
+		assertTrue(throttle.tryNotify(1L, NotificationThrottleTest.command(), Notice.COOLDOWN));
+		
+		assertTrue(throttle.tryNotify(1L, null, Notice.HELP));
+		assertFalse(throttle.tryNotify(1L, null, Notice.HELP));
+	}
+	
+	@Test
+	public void testCommandsNeverShareNotices() {
+		NotificationThrottle throttle = new NotificationThrottle(60000L);
+		
+		/* Enough commands for identity hash codes to collide, every one of them still gets its own notice */
+		for(int i = 0; i < 100000; i++) {
+			assertTrue(throttle.tryNotify(1L, NotificationThrottleTest.command(), Notice.COOLDOWN));
+		}
+	}
+	
+	@Test
+	public void testExpire() throws InterruptedException {
+		NotificationThrottle throttle = new NotificationThrottle(20L);
+		ICommand command = NotificationThrottleTest.command();
+		
+		assertTrue(throttle.tryNotify(1L, command, Notice.COOLDOWN));
+		assertFalse(throttle.tryNotify(1L, command, Notice.COOLDOWN));
+		
+		Thread.sleep(50L);
+		
+		assertTrue(throttle.tryNotify(1L, command, Notice.COOLDOWN));
+	}
+	
+	@Test
+	public void testResize() {
+		NotificationThrottle throttle = new NotificationThrottle(60000L);
+		ICommand command = NotificationThrottleTest.command();
+		
+		for(long user = 0; user < 1000; user++) {
+			assertTrue(throttle.tryNotify(user, command, Notice.COOLDOWN));
+		}
+		
+		assertEquals(1000, throttle.size());
+		
+		/* Every entry is still found after the table has grown */
+		for(long user = 0; user < 1000; user++) {
+			assertFalse(throttle.tryNotify(user, command, Notice.COOLDOWN));
+		}
+		
+		throttle.clear();
+		
+		assertEquals(0, throttle.size());
+		assertTrue(throttle.tryNotify(0L, command, Notice.COOLDOWN));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.jockie.bot.core.option.IOption;
+import com.jockie.bot.core.option.impl.OptionImpl;
+
+public class OptionSetTest {
+	
+	private static ParsePlan plan(int count) {
+		IOption[] options = new IOption[count];
+		for(int i = 0; i < count; i++) {
+			options[i] = new OptionImpl.Builder().setName("option" + i).setAliases(new String[] { "o" + i }).build();
+		}
+		
+		return new ParsePlan(new CommandImpl("test", false).setOptions(options));
+	}
+	
+	@Test
+	public void testEmpty() {
+		OptionSet options = new OptionSet(OptionSetTest.plan(3));
+		
+		assertTrue(options.isEmpty());
+		assertFalse(options.has(0));
+		assertFalse(options.has("option0"));
+		assertNull(options.getValue("option0"));
+		assertTrue(options.getOptions().isEmpty());
+		assertTrue(options.getNames().isEmpty());
+	}
+	
+	@Test
+	public void testAdd() {
+		OptionSet options = new OptionSet(OptionSetTest.plan(3));
+		
+		options.add(0, null);
+		options.add(2, "10");
+		
+		assertFalse(options.isEmpty());
+		assertTrue(options.has(0));
+		assertFalse(options.has(1));
+		assertTrue(options.has(2));
+		
+		/* Names and aliases are looked up ignoring case */
+		assertTrue(options.has("OPTION0"));
+		assertTrue(options.has("o2"));
+		assertFalse(options.has("option1"));
+		
+		assertNull(options.getValue(0));
+		assertEquals("10", options.getValue(2));
+		assertEquals("10", options.getValue("O2"));
+		
+		assertEquals(List.of("option0", "option2"), options.getNames());
+	}
+	
+	@Test
+	public void testMoreThan64Options() {
+		OptionSet options = new OptionSet(OptionSetTest.plan(130));
+		
+		options.add(63, null);
+		options.add(64, null);
+		options.add(129, "last");
+		
+		for(int i = 0; i < 130; i++) {
+			assertEquals("option" + i, i == 63 || i == 64 || i == 129, options.has(i));
+		}
+		
+		assertEquals("last", options.getValue("option129"));
+		assertEquals(3, options.getOptions().size());
+	}
+	
+	@Test
+	public void testUnknown() {
+		OptionSet options = new OptionSet(OptionSetTest.plan(1));
+		
+		options.addUnknown("Verbose", null);
+		options.addUnknown("level", "3");
+		
+		assertFalse(options.isEmpty());
+		assertTrue(options.has("verbose"));
+		assertTrue(options.has("LEVEL"));
+		assertEquals("3", options.getValue("level"));
+		assertNull(options.getValue("verbose"));
+		
+		options.add(0, null);
+		
+		/* The options of the command come first */
+		assertEquals(List.of("option0", "verbose", "level"), options.getNames());
+	}
+}
\ No newline at end of file
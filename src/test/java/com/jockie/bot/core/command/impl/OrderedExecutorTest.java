@@ -0,0 +1,181 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderedExecutorTest {
+	
+	private static final Executor REJECTING = (task) -> {
+		throw new RejectedExecutionException();
+	};
+	
+	private OrderedExecutor executor;
+	
+	/* The labels of the tasks in the order they were run */
+	private List<String> order;
+	
+	@Before
+	public void setUp() {
+		this.executor = new OrderedExecutor();
+		this.order = new ArrayList<>();
+	}
+	
+	private Runnable task(String label) {
+		return () -> this.order.add(label);
+	}
+	
+	private static void runNext(List<Runnable> jobs) {
+		jobs.remove(0).run();
+	}
+	
+	@Test
+	public void testOneAtATime() {
+		List<Runnable> jobs = new ArrayList<>();
+		
+		this.executor.execute(1L, this.task("a"), jobs::add);
+		this.executor.execute(1L, this.task("b"), jobs::add);
+		this.executor.execute(1L, this.task("c"), jobs::add);
+		
+		/* Only the first task is handed to the executor until it has finished */
+		assertEquals(1, jobs.size());
+		assertEquals(2, this.executor.getPendingCount(1L));
+		
+		OrderedExecutorTest.runNext(jobs);
+		
+		assertEquals(1, jobs.size());
+		assertEquals(1, this.executor.getPendingCount(1L));
+		
+		OrderedExecutorTest.runNext(jobs);
+		OrderedExecutorTest.runNext(jobs);
+		
+		assertEquals(0, jobs.size());
+		assertEquals(0, this.executor.getPendingCount(1L));
+		assertEquals(List.of("a", "b", "c"), this.order);
+	}
+	
+	@Test
+	public void testKeysAreIndependent() {
+		List<Runnable> jobs = new ArrayList<>();
+		
+		this.executor.execute(1L, this.task("a"), jobs::add);
+		this.executor.execute(2L, this.task("b"), jobs::add);
+		
+		assertEquals(2, jobs.size());
+	}
+	
+	@Test
+	public void testEachTaskUsesItsOwnExecutor() {
+		List<Runnable> first = new ArrayList<>(), second = new ArrayList<>();
+		
+		this.executor.execute(1L, this.task("a"), first::add);
+		this.executor.execute(1L, this.task("b"), second::add);
+		this.executor.execute(1L, this.task("c"), first::add);
+		
+		OrderedExecutorTest.runNext(first);
+		
+		/* The second task goes through the executor it was added with, not the one of the task which started the mailbox */
+		assertEquals(0, first.size());
+		assertEquals(1, second.size());
+		
+		OrderedExecutorTest.runNext(second);
+		
+		assertEquals(1, first.size());
+		
+		OrderedExecutorTest.runNext(first);
+		
+		assertEquals(List.of("a", "b", "c"), this.order);
+	}
+	
+	@Test
+	public void testRejectedTasksAreSkipped() {
+		List<Runnable> jobs = new ArrayList<>();
+		
+		this.executor.execute(1L, this.task("a"), jobs::add);
+		this.executor.execute(1L, this.task("b"), OrderedExecutorTest.REJECTING);
+		this.executor.execute(1L, this.task("c"), jobs::add);
+		
+		OrderedExecutorTest.runNext(jobs);
+		OrderedExecutorTest.runNext(jobs);
+		
+		assertEquals(List.of("a", "c"), this.order);
+		assertEquals(0, this.executor.getPendingCount(1L));
+		
+		/* A rejected first task does not leave the mailbox behind either */
+		this.executor.execute(2L, this.task("d"), OrderedExecutorTest.REJECTING);
+		this.executor.execute(2L, this.task("e"), jobs::add);
+		
+		OrderedExecutorTest.runNext(jobs);
+		
+		assertEquals(List.of("a", "c", "e"), this.order);
+	}
+	
+	@Test
+	public void testManyRejectedTasks() {
+		List<Runnable> jobs = new ArrayList<>();
+		
+		this.executor.execute(1L, this.task("a"), jobs::add);
+		
+		for(int i = 0; i < 100000; i++) {
+			this.executor.execute(1L, this.task("rejected"), OrderedExecutorTest.REJECTING);
+		}
+		
+		this.executor.execute(1L, this.task("b"), jobs::add);
+		
+		OrderedExecutorTest.runNext(jobs);
+		OrderedExecutorTest.runNext(jobs);
+		
+		assertEquals(List.of("a", "b"), this.order);
+	}
+	
+	@Test
+	public void testOrderOnThreadPool() throws InterruptedException {
+		int keys = 8, tasks = 500;
+		
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		CountDownLatch latch = new CountDownLatch(keys * tasks);
+		
+		List<List<Integer>> results = new ArrayList<>();
+		for(int key = 0; key < keys; key++) {
+			results.add(Collections.synchronizedList(new ArrayList<>()));
+		}
+		
+		try {
+			for(int i = 0; i < tasks; i++) {
+				for(int key = 0; key < keys; key++) {
+					List<Integer> result = results.get(key);
+					int value = i;
+					
+					this.executor.execute(key, () -> {
+						result.add(value);
+						latch.countDown();
+					}, pool);
+				}
+			}
+			
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}finally{
+			pool.shutdown();
+		}
+		
+		for(List<Integer> result : results) {
+			assertEquals(tasks, result.size());
+			
+			for(int i = 0; i < tasks; i++) {
+				assertEquals(i, (int) result.get(i));
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.jockie.bot.core.argument.IArgument;
+import com.jockie.bot.core.argument.impl.ArgumentFactory;
+import com.jockie.bot.core.command.ICommand.ContentOverflowPolicy;
+import com.jockie.bot.core.option.IOption;
+import com.jockie.bot.core.option.impl.OptionImpl;
+
+public class ParsePlanTest {
+	
+	private static IOption option(String name, String... aliases) {
+		return new OptionImpl.Builder().setName(name).setAliases(aliases).build();
+	}
+	
+	private static IArgument<String> argument(String name) {
+		return ArgumentFactory.of(String.class).setName(name).build();
+	}
+	
+	private static ParsePlan plan(IOption[] options, IArgument<?>... arguments) {
+		return new ParsePlan(new CommandImpl("test", false, arguments).setOptions(options));
+	}
+	
+	@Test
+	public void testOptionIndex() {
+		IOption[] options = {
+			ParsePlanTest.option("force", "f"),
+			ParsePlanTest.option("limit", "l", "max"),
+			ParsePlanTest.option("silent")
+		};
+		
+		ParsePlan plan = ParsePlanTest.plan(options);
+		
+		assertEquals(0, plan.getOptionIndex("force"));
+		assertEquals(0, plan.getOptionIndex("F"));
+		assertEquals(1, plan.getOptionIndex("LIMIT"));
+		assertEquals(1, plan.getOptionIndex("max"));
+		assertEquals(2, plan.getOptionIndex("Silent"));
+		
+		assertEquals(-1, plan.getOptionIndex("forc"));
+		assertEquals(-1, plan.getOptionIndex("forced"));
+		assertEquals(-1, plan.getOptionIndex(""));
+		
+		assertSame(options[1], plan.getOption("l", false));
+		assertNull(plan.getOption("unknown", false));
+	}
+	
+	@Test
+	public void testOptionIndexInContent() {
+		ParsePlan plan = ParsePlanTest.plan(new IOption[] { ParsePlanTest.option("limit") });
+		
+		String content = "hello --limit=10 world";
+		
+		assertEquals(0, plan.getOptionIndex(content, 8, 13));
+		assertEquals(-1, plan.getOptionIndex(content, 8, 12));
+		assertEquals(-1, plan.getOptionIndex(content, 0, 5));
+	}
+	
+	@Test
+	public void testDeveloperOption() {
+		IOption developer = new OptionImpl.Builder().setName("debug").setAliases(new String[0]).setDeveloperOption(true).build();
+		
+		ParsePlan plan = ParsePlanTest.plan(new IOption[] { developer });
+		
+		assertEquals(0, plan.getOptionIndex("debug", 0, 5, true));
+		assertEquals(-1, plan.getOptionIndex("debug", 0, 5, false));
+		assertNull(plan.getOption("debug", false));
+		assertSame(developer, plan.getOption("debug", true));
+	}
+	
+	@Test
+	public void testCollidingHashCodes() {
+		/* These all have the same String#hashCode, the table still has to tell them apart */
+		String[] names = { "AaAa", "AaBB", "BBAa", "BBBB" };
+		
+		IArgument<?>[] arguments = new IArgument<?>[names.length];
+		for(int i = 0; i < names.length; i++) {
+			assertEquals(names[0].hashCode(), names[i].hashCode());
+			
+			arguments[i] = ParsePlanTest.argument(names[i]);
+		}
+		
+		ParsePlan plan = ParsePlanTest.plan(new IOption[0], arguments);
+		for(int i = 0; i < names.length; i++) {
+			assertEquals(i, plan.getArgumentIndex(names[i], 0, names[i].length()));
+		}
+	}
+	
+	@Test
+	public void testManyOptions() {
+		IOption[] options = new IOption[200];
+		for(int i = 0; i < options.length; i++) {
+			options[i] = ParsePlanTest.option("option" + i, "o" + i);
+		}
+		
+		ParsePlan plan = ParsePlanTest.plan(options);
+		for(int i = 0; i < options.length; i++) {
+			assertEquals(i, plan.getOptionIndex("option" + i));
+			assertEquals(i, plan.getOptionIndex("O" + i));
+		}
+		
+		assertEquals(-1, plan.getOptionIndex("option200"));
+	}
+	
+	@Test
+	public void testNoOptions() {
+		ParsePlan plan = ParsePlanTest.plan(new IOption[0]);
+		
+		assertEquals(-1, plan.getOptionIndex("anything"));
+	}
+	
+	@Test
+	public void testArgumentIndex() {
+		ParsePlan plan = ParsePlanTest.plan(new IOption[0], ParsePlanTest.argument("name"), ParsePlanTest.argument("color"));
+		
+		String content = "name=test color=red";
+		
+		assertEquals(0, plan.getArgumentIndex(content, 0, 4));
+		assertEquals(1, plan.getArgumentIndex(content, 10, 15));
+		
+		/* Argument names are case sensitive */
+		assertEquals(-1, plan.getArgumentIndex("Name", 0, 4));
+	}
+	
+	@Test
+	public void testTokenCount() {
+		CommandImpl command = new CommandImpl("test", false, ParsePlanTest.argument("first"), ParsePlanTest.argument("second"));
+		command.setContentOverflowPolicy(ContentOverflowPolicy.FAIL);
+		
+		ParsePlan plan = new ParsePlan(command);
+		
+		assertEquals(2, plan.getMinimumTokens());
+		assertEquals(2, plan.getMaximumTokens());
+		
+		assertFalse(plan.isTokenCountValid(""));
+		assertFalse(plan.isTokenCountValid(" one "));
+		assertTrue(plan.isTokenCountValid(" one two"));
+		assertFalse(plan.isTokenCountValid(" one two three"));
+		
+		/* Quotes, brackets and key-value pairs can make one argument out of several tokens */
+		assertTrue(plan.isTokenCountValid(" \"one two\" three"));
+		assertTrue(plan.isTokenCountValid(" first=one second=two"));
+		
+		command.setContentOverflowPolicy(ContentOverflowPolicy.IGNORE);
+		
+		plan = new ParsePlan(command);
+		
+		assertEquals(-1, plan.getMaximumTokens());
+		assertTrue(plan.isTokenCountValid(" one two three"));
+	}
+}
\ No newline at end of file
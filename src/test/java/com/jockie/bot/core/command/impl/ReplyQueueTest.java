@@ -0,0 +1,201 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.MessageChannel;
+
+public class ReplyQueueTest {
+	
+	/* Keeps everything which was sent, the callbacks are only called once the test completes the send */
+	private static class RecordingSink implements IReplySink {
+		
+		private final List<String> sent = new ArrayList<>();
+		
+		private final ArrayDeque<Consumer<Throwable>> callbacks = new ArrayDeque<>();
+		
+		public void send(MessageChannel channel, Message message, Consumer<Throwable> callback) {
+			this.sent.add(channel.getIdLong() + ":" + message.getContentRaw());
+			this.callbacks.add(callback);
+		}
+		
+		private void complete() {
+			this.callbacks.poll().accept(null);
+		}
+		
+		private void completeAll() {
+			while(!this.callbacks.isEmpty()) {
+				this.complete();
+			}
+		}
+	}
+	
+	private static MessageChannel channel(long id) {
+		return (MessageChannel) Proxy.newProxyInstance(MessageChannel.class.getClassLoader(), new Class<?>[] { MessageChannel.class }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "getIdLong": return id;
+				case "getId": return Long.toUnsignedString(id);
+				case "hashCode": return Long.hashCode(id);
+				case "equals": return proxy == args[0];
+				default: return null;
+			}
+		});
+	}
+	
+	private RecordingSink sink;
+	private ReplyQueue queue;
+	
+	@Before
+	public void setUp() {
+		this.sink = new RecordingSink();
+		this.queue = new ReplyQueue().setSink(this.sink);
+	}
+	
+	@Test
+	public void testOneMessageAtATime() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		assertTrue(this.queue.queue(channel, "a"));
+		assertTrue(this.queue.queue(channel, "b"));
+		assertTrue(this.queue.queue(channel, "c"));
+		
+		assertEquals(1, this.sink.sent.size());
+		assertEquals(2, this.queue.getPendingCount(channel));
+		
+		/* The replies which were waiting are combined */
+		this.sink.complete();
+		
+		assertEquals(2, this.sink.sent.size());
+		assertEquals("1:b\nc", this.sink.sent.get(1));
+		
+		this.sink.complete();
+		
+		assertEquals(0, this.queue.getPendingCount(channel));
+		assertEquals(0, this.queue.getChannelCount());
+	}
+	
+	@Test
+	public void testWithoutCoalesce() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		this.queue.setCoalesce(false);
+		this.queue.queue(channel, "a");
+		this.queue.queue(channel, "b");
+		this.queue.queue(channel, "c");
+		
+		this.sink.completeAll();
+		this.sink.completeAll();
+		this.sink.completeAll();
+		
+		assertEquals(3, this.sink.sent.size());
+		assertEquals("1:a", this.sink.sent.get(0));
+		assertEquals("1:b", this.sink.sent.get(1));
+		assertEquals("1:c", this.sink.sent.get(2));
+	}
+	
+	@Test
+	public void testChannelsAreIndependent() {
+		MessageChannel first = ReplyQueueTest.channel(1L), second = ReplyQueueTest.channel(2L);
+		
+		this.queue.queue(first, "a");
+		this.queue.queue(second, "b");
+		
+		/* Neither waits for the other */
+		assertEquals(2, this.sink.sent.size());
+		assertEquals(2, this.queue.getChannelCount());
+		
+		this.sink.completeAll();
+		
+		assertEquals(0, this.queue.getChannelCount());
+	}
+	
+	@Test
+	public void testMaximumPending() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		this.queue.setMaximumPending(2);
+		
+		assertTrue(this.queue.queue(channel, "a"));
+		assertTrue(this.queue.queue(channel, "b"));
+		assertTrue(this.queue.queue(channel, "c"));
+		assertFalse(this.queue.queue(channel, "d"));
+		
+		this.sink.complete();
+		
+		assertTrue(this.queue.queue(channel, "e"));
+	}
+	
+	@Test
+	public void testNoticePerUser() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		assertTrue(this.queue.queueNotice(channel, "cooldown", 10L, "user 10"));
+		assertFalse(this.queue.queueNotice(channel, "cooldown", 10L, "user 10"));
+		
+		/* Another user or another type of notice is not held back */
+		assertTrue(this.queue.queueNotice(channel, "cooldown", 20L, "user 20"));
+		assertTrue(this.queue.queueNotice(channel, "nsfw", 10L, "user 10"));
+		
+		/* Neither is the same notice in another channel */
+		assertTrue(this.queue.queueNotice(ReplyQueueTest.channel(2L), "cooldown", 10L, "user 10"));
+	}
+	
+	@Test
+	public void testDroppedNoticeIsNotRecorded() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		this.queue.setMaximumPending(1);
+		this.queue.queue(channel, "a");
+		this.queue.queue(channel, "b");
+		
+		assertFalse(this.queue.queueNotice(channel, "cooldown", 10L, "full"));
+		
+		this.sink.complete();
+		
+		assertTrue(this.queue.queueNotice(channel, "cooldown", 10L, "not full"));
+	}
+	
+	@Test
+	public void testQueueRemovedWithRecentNotice() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		this.queue.queueNotice(channel, "help", 10L, "help");
+		this.sink.completeAll();
+		
+		assertEquals(0, this.queue.getChannelCount());
+		
+		/* The notice is still remembered after the queue is gone */
+		assertFalse(this.queue.queueNotice(channel, "help", 10L, "help"));
+		assertEquals(1, this.queue.getNoticeCount());
+	}
+	
+	@Test
+	public void testNoticesExpire() {
+		MessageChannel channel = ReplyQueueTest.channel(1L);
+		
+		this.queue.setNoticeWindow(0L);
+		
+		for(long user = 0; user < 100; user++) {
+			assertTrue(this.queue.queueNotice(channel, "cooldown", user, "notice"));
+			this.sink.completeAll();
+		}
+		
+		assertTrue(this.queue.queueNotice(channel, "cooldown", 0L, "notice"));
+		assertTrue(this.queue.getNoticeCount() <= 2);
+		
+		this.sink.completeAll();
+		
+		assertEquals(0, this.queue.getChannelCount());
+	}
+}
\ No newline at end of file
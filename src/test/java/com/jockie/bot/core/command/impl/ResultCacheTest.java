@@ -0,0 +1,89 @@
+package com.jockie.bot.core.command.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.jockie.bot.core.argument.MemberBatch;
+import com.jockie.bot.core.cooldown.ICooldown.Scope;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
+
+public class ResultCacheTest {
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, long id, Object value) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "getIdLong": return id;
+				case "getId": return Long.toUnsignedString(id);
+				case "getGuild": return value;
+				case "getUser": return value;
+				case "hashCode": return Long.hashCode(id);
+				case "equals": return proxy == args[0];
+				default: return null;
+			}
+		});
+	}
+	
+	private static Guild guild(long id) {
+		return ResultCacheTest.proxy(Guild.class, id, null);
+	}
+	
+	private static User user(long id) {
+		return ResultCacheTest.proxy(User.class, id, null);
+	}
+	
+	/* Members share the id of their user, the guild is what tells them apart */
+	private static Member member(Guild guild, User user) {
+		return (Member) Proxy.newProxyInstance(Member.class.getClassLoader(), new Class<?>[] { Member.class }, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "getIdLong": return user.getIdLong();
+				case "getGuild": return guild;
+				case "getUser": return user;
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				default: return null;
+			}
+		});
+	}
+	
+	private static ResultCache.Key key(ResultCache cache, Object... arguments) {
+		CommandImpl command = new CommandImpl("test", false);
+		CommandEvent event = new CommandEvent(null, null, command, arguments, "", "test", new OptionSet(command.getParsePlan()));
+		
+		return cache.createKey(null, event, arguments);
+	}
+	
+	@Test
+	public void testMember() {
+		ResultCache cache = new ResultCache(60000, Scope.GLOBAL, 16);
+		
+		Guild first = ResultCacheTest.guild(1), second = ResultCacheTest.guild(2);
+		User user = ResultCacheTest.user(10);
+		
+		assertEquals(ResultCacheTest.key(cache, ResultCacheTest.member(first, user)), ResultCacheTest.key(cache, ResultCacheTest.member(first, user)));
+		assertNotEquals(ResultCacheTest.key(cache, ResultCacheTest.member(first, user)), ResultCacheTest.key(cache, ResultCacheTest.member(second, user)));
+		
+		/* A user argument is the same everywhere */
+		assertEquals(ResultCacheTest.key(cache, user), ResultCacheTest.key(cache, ResultCacheTest.user(10)));
+		assertNotEquals(ResultCacheTest.key(cache, user), ResultCacheTest.key(cache, ResultCacheTest.member(first, user)));
+	}
+	
+	@Test
+	public void testMemberBatch() {
+		ResultCache cache = new ResultCache(60000, Scope.GLOBAL, 16);
+		
+		Guild first = ResultCacheTest.guild(1), second = ResultCacheTest.guild(2);
+		long[] ids = { 10, 11 };
+		
+		assertEquals(ResultCacheTest.key(cache, new MemberBatch(first, ids)), ResultCacheTest.key(cache, new MemberBatch(first, ids.clone())));
+		assertNotEquals(ResultCacheTest.key(cache, new MemberBatch(first, ids)), ResultCacheTest.key(cache, new MemberBatch(second, ids)));
+		assertNotEquals(ResultCacheTest.key(cache, new MemberBatch(first, ids)), ResultCacheTest.key(cache, new MemberBatch(first, new long[] { 10 })));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.jockie.bot.core.utility;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ImmutableLongSetTest {
+	
+	@Test
+	public void testOf() {
+		ImmutableLongSet set = ImmutableLongSet.of(5L, -1L, 3L, 5L, Long.MAX_VALUE, 3L, Long.MIN_VALUE);
+		
+		assertEquals(5, set.size());
+		assertArrayEquals(new long[] { Long.MIN_VALUE, -1L, 3L, 5L, Long.MAX_VALUE }, set.toArray());
+		
+		assertTrue(set.contains(Long.MIN_VALUE));
+		assertTrue(set.contains(Long.MAX_VALUE));
+		assertFalse(set.contains(0L));
+		assertFalse(set.contains(4L));
+		
+		assertArrayEquals(set.toArray(), ImmutableLongSet.of(List.of(3L, 5L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 5L)).toArray());
+	}
+	
+	@Test
+	public void testEmpty() {
+		assertSame(ImmutableLongSet.EMPTY, ImmutableLongSet.of());
+		assertSame(ImmutableLongSet.EMPTY, ImmutableLongSet.of(List.of()));
+		
+		assertTrue(ImmutableLongSet.EMPTY.isEmpty());
+		assertFalse(ImmutableLongSet.EMPTY.contains(0L));
+		
+		/* An empty set never needs a Bloom filter */
+		assertSame(ImmutableLongSet.EMPTY, ImmutableLongSet.EMPTY.withBloomFilter());
+	}
+	
+	@Test
+	public void testWith() {
+		ImmutableLongSet set = ImmutableLongSet.of(1L, 2L);
+		ImmutableLongSet added = set.with(3L, 2L, 0L);
+		
+		assertArrayEquals(new long[] { 0L, 1L, 2L, 3L }, added.toArray());
+		
+		/* The original set is never changed */
+		assertArrayEquals(new long[] { 1L, 2L }, set.toArray());
+		
+		assertArrayEquals(new long[] { 7L }, ImmutableLongSet.EMPTY.with(7L).toArray());
+	}
+	
+	@Test
+	public void testWithout() {
+		ImmutableLongSet set = ImmutableLongSet.of(1L, 2L, 3L, 4L);
+		
+		assertArrayEquals(new long[] { 1L, 3L }, set.without(2L, 4L, 5L).toArray());
+		assertArrayEquals(new long[] { 1L, 2L, 3L, 4L }, set.without().toArray());
+		assertArrayEquals(new long[] { 1L, 2L, 3L, 4L }, set.toArray());
+		
+		assertSame(ImmutableLongSet.EMPTY, set.without(4L, 3L, 2L, 1L));
+	}
+	
+	@Test
+	public void testBloomFilterKeptByCopies() {
+		ImmutableLongSet set = ImmutableLongSet.of(1L, 2L, 3L).withBloomFilter();
+		
+		assertTrue(set.hasBloomFilter());
+		assertTrue(set.with(4L).hasBloomFilter());
+		assertTrue(set.without(1L).hasBloomFilter());
+		
+		assertFalse(ImmutableLongSet.of(1L).hasBloomFilter());
+		assertFalse(ImmutableLongSet.of(1L).with(2L).hasBloomFilter());
+	}
+	
+	@Test
+	public void testBloomFilterAgreesWithSet() {
+		Random random = new Random(42L);
+		
+		Set<Long> expected = new HashSet<>();
+		for(int i = 0; i < 10000; i++) {
+			expected.add(random.nextLong());
+		}
+		
+		ImmutableLongSet set = ImmutableLongSet.of(expected);
+		
+		for(int bits : new int[] { 1, 4, ImmutableLongSet.DEFAULT_BLOOM_BITS, 32 }) {
+			ImmutableLongSet filtered = set.withBloomFilter(bits);
+			
+			/* A Bloom filter can only say that something is not in the set, it can never hide something which is */
+			for(long value : expected) {
+				assertTrue(filtered.contains(value));
+			}
+			
+			for(int i = 0; i < 10000; i++) {
+				long value = random.nextLong();
+				
+				assertEquals(expected.contains(value), filtered.contains(value));
+			}
+		}
+		
+		/* Removing values keeps the filter consistent as well */
+		long removed = expected.iterator().next();
+		
+		ImmutableLongSet without = set.withBloomFilter().without(removed);
+		
+		assertFalse(without.contains(removed));
+		assertEquals(expected.size() - 1, without.size());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.jockie.bot.core.utility;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NameIndexTest {
+	
+	@Test
+	public void testGet() {
+		NameIndex index = new NameIndex();
+		index.add("Jockie", 1L);
+		index.add("jockie", 2L);
+		index.add("Other", 3L);
+		
+		assertArrayEquals(new long[] { 1L, 2L }, index.get("JOCKIE"));
+		assertEquals(0, index.get("missing").length);
+		
+		index.remove("Jockie", 1L);
+		assertArrayEquals(new long[] { 2L }, index.get("jockie"));
+		
+		index.remove("jockie", 2L);
+		assertEquals(0, index.get("jockie").length);
+		assertEquals(1, index.size());
+	}
+	
+	@Test
+	public void testGetByPrefix() {
+		NameIndex index = new NameIndex();
+		index.add("charlie", 3L);
+		index.add("alpha", 1L);
+		index.add("alfred", 2L);
+		
+		assertArrayEquals(new long[] { 2L, 1L }, index.getByPrefix("al", 10));
+		assertArrayEquals(new long[] { 2L }, index.getByPrefix("AL", 1));
+		assertEquals(0, index.getByPrefix("b", 10).length);
+	}
+	
+	@Test
+	public void testSearch() {
+		NameIndex index = new NameIndex(true);
+		index.add("shadow", 1L);
+		index.add("shadowfax", 2L);
+		index.add("the shadow king", 3L);
+		index.add("unrelated", 4L);
+		
+		/* Exact match, then prefix and lastly similar names */
+		assertArrayEquals(new long[] { 1L, 2L, 3L }, index.search("Shadow", 10));
+		assertArrayEquals(new long[] { 1L }, index.search("shadow", 1));
+		
+		assertEquals(1L, index.searchBest("shadow"));
+		assertEquals(3L, index.searchBest("shadow king"));
+		assertEquals(-1L, index.searchBest("nothing like it"));
+	}
+	
+	@Test
+	public void testSearchWithoutTrigrams() {
+		NameIndex index = new NameIndex();
+		index.add("shadow", 1L);
+		index.add("the shadow king", 3L);
+		
+		assertArrayEquals(new long[] { 1L }, index.search("shadow", 10));
+	}
+	
+	@Test
+	public void testSearchCommonTrigrams() {
+		NameIndex index = new NameIndex(true);
+		for(int i = 0; i < 5000; i++) {
+			index.add("user" + i, i);
+		}
+		
+		index.add("a user", 10000L);
+		
+		long[] ids = index.search("xuser", 5000);
+		assertTrue(ids.length <= NameIndex.MAXIMUM_TRIGRAM_CANDIDATES);
+		
+		/* Removing names removes their trigrams as well */
+		for(int i = 0; i < 5000; i++) {
+			index.remove("user" + i, i);
+		}
+		
+		assertArrayEquals(new long[] { 10000L }, index.search("xuser", 10));
+	}
+}
\ No newline at end of file